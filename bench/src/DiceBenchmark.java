@@ -0,0 +1,69 @@
+package src;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Biaya satu roll per DiceSource dengan 4 thread sekaligus. sharedRandom =
+// satu java.util.Random dipakai semua thread (CAS pada seed yang sama).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class DiceBenchmark {
+    @State(Scope.Benchmark)
+    public static class Shared {
+        DiceSource dice;
+
+        @Setup
+        public void setup() {
+            dice = new RandomDice(new Random(42));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PerThread {
+        DiceSource random;
+        DiceSource seeded;
+        DiceSource bulk;
+
+        @Setup
+        public void setup() {
+            random = new RandomDice(new Random(42));
+            seeded = new SeededDice(42);
+            bulk = new BulkDice(42);
+        }
+    }
+
+    @Benchmark
+    public int sharedRandom(Shared state) {
+        return state.dice.roll();
+    }
+
+    @Benchmark
+    public int threadRandom(PerThread state) {
+        return state.random.roll();
+    }
+
+    @Benchmark
+    public int seeded(PerThread state) {
+        return state.seeded.roll();
+    }
+
+    @Benchmark
+    public int bulk(PerThread state) {
+        return state.bulk.roll();
+    }
+}
@@ -0,0 +1,81 @@
+package src;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Logika game tanpa GUI: satu roll (rencana langkah + semua langkah animasi)
+// dan satu game penuh sampai ada pemenang. listener = biaya event GameListener
+// (none, sync = listener kosong langsung, async = AsyncGameListener).
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+    @Param({"2", "6"})
+    int players;
+
+    @Param({"none", "sync", "async"})
+    String listener;
+
+    private ScoreManager scoreManager;
+    private GameManager gameManager;
+    private AsyncGameListener asyncListener;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        scoreManager = new ScoreManager(random);
+        gameManager = new GameManager(scoreManager, random);
+        gameManager.setGraph(GraphVisualizer.createGraph(64));
+        gameManager.setLadders(GraphVisualizer.createLadders(random));
+        if (listener.equals("sync")) gameManager.addListener(new GameListener() {});
+        if (listener.equals("async")) {
+            asyncListener = new AsyncGameListener(new GameListener() {});
+            gameManager.addListener(asyncListener);
+        }
+        newGame();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (asyncListener != null) asyncListener.close();
+    }
+
+    private void newGame() {
+        gameManager.resetGame(players);
+        scoreManager.resetScores(gameManager.getAllPlayers());
+    }
+
+    @Benchmark
+    public int rollDiceAndAnimate() {
+        int target = gameManager.rollDice();
+        if (target < 0) {
+            newGame();
+            target = gameManager.rollDice();
+        }
+        while (gameManager.updateAnimation()) { }
+        return target;
+    }
+
+    @Benchmark
+    public int fullGame() {
+        newGame();
+        int rolls = 0;
+        while (gameManager.playRoll() >= 0) rolls++;
+        return rolls;
+    }
+}
@@ -0,0 +1,64 @@
+package src;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// ScoreManager.getLeaderboard seperti dipakai scoreboard setiap repaint:
+// skor satu pemain berubah, lalu seluruh ranking dibaca.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaderboardBenchmark {
+    @Param({"2", "6", "1000", "50000"})
+    int players;
+
+    private ScoreManager scoreManager;
+    private List<Player> playerList;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        random = new Random(42);
+        scoreManager = new ScoreManager(random);
+        playerList = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            Player p = new Player("Player " + (i + 1), Color.RED, 0);
+            p.seat = i;
+            playerList.add(p);
+        }
+        scoreManager.resetScores(playerList);
+        for (int i = 0; i < players * 10; i++) {
+            scoreManager.addScore(playerList.get(random.nextInt(players)), random.nextInt(64));
+        }
+    }
+
+    @Benchmark
+    public void scoreAndRead(Blackhole bh) {
+        scoreManager.addScore(playerList.get(random.nextInt(players)), random.nextInt(64));
+        List<Player> ranking = scoreManager.getLeaderboard(playerList);
+        for (int i = 0, n = Math.min(6, ranking.size()); i < n; i++) bh.consume(ranking.get(i).totalScore);
+    }
+
+    @Benchmark
+    public List<Player> readOnly() {
+        return scoreManager.getLeaderboard(playerList);
+    }
+}
@@ -0,0 +1,88 @@
+package src;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.swing.SwingUtilities;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// GraphPanel.paintComponent penuh ke BufferedImage offscreen dengan AWT headless.
+// paintFrame = frame biasa (layer statis sudah di-cache), paintFrameColdBoard =
+// frame setelah board di-invalidate (resize, ladder baru, zoom/pan). Papan besar
+// di-zoom ke skala 1 (sekitar 8x8 sel terlihat): biaya harus mengikuti isi layar,
+// bukan ukuran papan.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PaintBenchmark {
+    private static final int WIDTH = 1100;
+    private static final int HEIGHT = 760;
+
+    @Param({"8", "100"})
+    int boardSize;
+
+    private GraphPanel panel;
+    private BufferedImage frame;
+    private Graphics2D g2;
+
+    @Setup
+    public void setup() throws Exception {
+        Random random = new Random(42);
+        int nodeCount = boardSize * boardSize;
+        Graph graph = GraphVisualizer.createGraph(nodeCount);
+        List<Ladder> ladders = GraphVisualizer.createLadders(random, nodeCount);
+        ScoreManager scoreManager = new ScoreManager(nodeCount, random);
+        GameManager gameManager = new GameManager(scoreManager, random);
+        gameManager.setGraph(graph);
+        gameManager.setLadders(ladders);
+        gameManager.resetGame(4);
+        scoreManager.resetScores(gameManager.getAllPlayers());
+        // Beberapa roll supaya pion tersebar dan scoreboard terisi
+        for (int i = 0; i < 12; i++) gameManager.playRoll();
+
+        SwingUtilities.invokeAndWait(() -> panel = new GraphPanel(graph, gameManager, ladders, scoreManager));
+        // Tunggu asset async, lalu EDT supaya atlas & board image sudah terpasang
+        AssetLoader.shared().whenAllLoaded().join();
+        SwingUtilities.invokeAndWait(() -> {
+            panel.setSize(WIDTH, HEIGHT);
+            panel.getViewport().setScale(1.0);
+        });
+
+        frame = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        g2 = frame.createGraphics();
+    }
+
+    @TearDown
+    public void tearDown() {
+        g2.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage paintFrame() {
+        panel.paintComponent(g2);
+        return frame;
+    }
+
+    @Benchmark
+    public BufferedImage paintFrameColdBoard() {
+        panel.invalidateBoard();
+        panel.paintComponent(g2);
+        return frame;
+    }
+}
@@ -0,0 +1,45 @@
+package src;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Pembuatan silhouette pion (dulu GraphPanel.createSilhouette, sekarang di
+// SpriteAtlas) dan pembuatan atlas lengkap untuk semua warna pemain.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SpriteBenchmark {
+    private BufferedImage pawnImage;
+    private BufferedImage scaledPawn;
+
+    @Setup
+    public void setup() {
+        pawnImage = AssetLoader.shared().loadImage("Untitled design 2.png").join();
+        if (pawnImage == null) throw new IllegalStateException("Pawn image not found");
+        scaledPawn = SpriteAtlas.scale(pawnImage, 80, 54);
+    }
+
+    @Benchmark
+    public BufferedImage createSilhouette() {
+        return SpriteAtlas.createSilhouette(scaledPawn, Color.RED);
+    }
+
+    @Benchmark
+    public SpriteAtlas buildAtlas() {
+        return new SpriteAtlas(pawnImage, 80, 54, 2, null, 59, GameManager.PLAYER_COLORS);
+    }
+}
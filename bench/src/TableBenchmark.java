@@ -0,0 +1,70 @@
+package src;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Biaya per game: GameManager (objek Player) vs TableSimulation di atas
+// PlayerStore dengan sekian meja bergiliran. Satu operasi = GAMES game.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TableBenchmark {
+    private static final int GAMES = 1000;
+    private static final int PLAYERS = 3;
+
+    @Param({"1", "100", "1000"})
+    int tables;
+
+    private TableSimulation simulation;
+    private GameManager gameManager;
+    private ScoreManager scoreManager;
+    private SeededDice dice;
+    private long nextGame;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        Graph graph = GraphVisualizer.createGraph(64);
+        java.util.List<Ladder> ladders = GraphVisualizer.createLadders(random, 64);
+        scoreManager = new ScoreManager(64, random);
+        simulation = new TableSimulation(new TransitionTable(graph, ladders, 63), scoreManager.copyNodeScores(),
+                tables, PLAYERS, null, 42);
+        dice = new SeededDice(42);
+        gameManager = new GameManager(scoreManager, dice);
+        gameManager.setGraph(graph);
+        gameManager.setLadders(ladders);
+    }
+
+    @Benchmark
+    public long gameManager() {
+        long rolls = 0;
+        for (int g = 0; g < GAMES; g++) {
+            dice.reseed(nextGame++);
+            gameManager.resetGame(PLAYERS);
+            scoreManager.resetScores(gameManager.getAllPlayers());
+            while (gameManager.playRoll() >= 0) rolls++;
+        }
+        return rolls;
+    }
+
+    @Benchmark
+    public long playerStore() {
+        SimulationResult result = simulation.run(nextGame, GAMES);
+        nextGame += GAMES;
+        return result.totalRolls;
+    }
+}
@@ -0,0 +1,195 @@
+package src;
+
+import javax.swing.JComponent;
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
+import java.awt.Point;
+import java.awt.Rectangle;
+
+// ---------------------------------------------------------
+// ANIMATION ENGINE
+// ---------------------------------------------------------
+// Satu timer frame (sesuai refresh rate layar) menggantikan Timer baru per roll.
+// Logika game tetap maju per node dengan timestep tetap (updateAnimation), sedangkan
+// posisi pion di layar diinterpolasi antar nodePositions setiap frame, termasuk
+// saat naik ladder. Hanya rectangle pion yang bergerak yang di-repaint.
+// Posisi dan bounds dihitung di koordinat dunia lalu dipetakan lewat Viewport.
+// HUD (skor, giliran, pemenang) tidak diurus di sini, tapi lewat GameListener.
+class AnimationEngine {
+    // Durasi satu langkah node, sama dengan timer lama
+    static final long STEP_NANOS = 200_000_000L;
+    // Ladder panjang boleh lebih lama, maksimal sekian kali langkah biasa
+    private static final double MAX_STEP_FACTOR = 3.0;
+
+    private final GameManager gameManager;
+    private final Point[] nodePositions;
+    private final Viewport viewport;
+    private final JComponent target;
+    private final int cellSize;
+    private final int spriteHalfWidth;
+    private final int spriteHalfHeight;
+    private final javax.swing.Timer frameTimer;
+    private final long frameNanos;
+
+    private Player mover;
+    private int fromNode;
+    private int toNode;
+    private long segmentNanos;
+    private long accumulator;
+    private long lastFrame;
+    private boolean running;
+    private final Rectangle lastBounds = new Rectangle();
+    private final Rectangle dirty = new Rectangle();
+    private final Rectangle screenDirty = new Rectangle();
+
+    // Statistik frame pacing
+    private long frameCount;
+    private long droppedFrames;
+    private long worstFrameNanos;
+
+    public AnimationEngine(GameManager gameManager, Point[] nodePositions, Viewport viewport, JComponent target,
+                           int cellSize, int spriteWidth, int spriteHeight) {
+        this.gameManager = gameManager;
+        this.nodePositions = nodePositions;
+        this.viewport = viewport;
+        this.target = target;
+        this.cellSize = cellSize;
+        // Margin untuk offset tumpukan pion (lihat GraphPanel.drawPlayers)
+        this.spriteHalfWidth = spriteWidth / 2 + 20;
+        this.spriteHalfHeight = spriteHeight / 2 + 20;
+
+        int refreshRate = detectRefreshRate();
+        this.frameNanos = 1_000_000_000L / refreshRate;
+        this.frameTimer = new javax.swing.Timer(Math.max(1, 1000 / refreshRate), e -> tick());
+        this.frameTimer.setCoalesce(true);
+    }
+
+    private static int detectRefreshRate() {
+        if (GraphicsEnvironment.isHeadless()) return 60;
+        DisplayMode mode = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDisplayMode();
+        int rate = mode.getRefreshRate();
+        return rate == DisplayMode.REFRESH_RATE_UNKNOWN ? 60 : rate;
+    }
+
+    public void start() {
+        mover = gameManager.getCurrentPlayer();
+        running = true;
+        accumulator = 0;
+        lastFrame = System.nanoTime();
+        fromNode = mover.position;
+        boundsAt(fromNode, fromNode, 0, lastBounds);
+        if (!advance()) return;
+        target.repaint();
+        frameTimer.start();
+    }
+
+    public void stop() {
+        frameTimer.stop();
+        running = false;
+        mover = null;
+    }
+
+    public boolean isRunning() { return running; }
+
+    // Ambil langkah logika berikutnya; false jika animasi selesai
+    private boolean advance() {
+        fromNode = mover.position;
+        if (!gameManager.updateAnimation()) {
+            finish();
+            return false;
+        }
+        toNode = mover.position;
+        segmentNanos = segmentNanos(nodePositions[fromNode], nodePositions[toNode], cellSize);
+        return true;
+    }
+
+    // Durasi satu langkah dari a ke b (ladder panjang lebih lama)
+    static long segmentNanos(Point a, Point b, int cellSize) {
+        double distance = Math.hypot(b.x - a.x, b.y - a.y);
+        double factor = Math.max(1.0, Math.min(MAX_STEP_FACTOR, distance / cellSize));
+        return (long) (STEP_NANOS * factor);
+    }
+
+    // Render offscreen: pion mover digambar di antara from dan to (t = 0..1, linear)
+    // tanpa timer; stop() mengembalikan ke posisi node biasa
+    public void pose(Player player, int from, int to, double t) {
+        mover = player;
+        fromNode = from;
+        toNode = to;
+        segmentNanos = STEP_NANOS;
+        accumulator = (long) (Math.max(0, Math.min(1, t)) * STEP_NANOS);
+        running = true;
+    }
+
+    private void finish() {
+        stop();
+        // Pion kembali ke posisi node biasa (offset tumpukan); HUD di-repaint lewat event
+        boundsAt(toNode, toNode, 0, dirty);
+        dirty.add(lastBounds);
+        viewport.worldToScreen(dirty, screenDirty);
+        target.repaint(screenDirty);
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        try {
+            step(now);
+        } finally {
+            GameMetrics.ANIMATION_TICK.recordSince(now);
+        }
+    }
+
+    private void step(long now) {
+        long elapsed = now - lastFrame;
+        lastFrame = now;
+        frameCount++;
+        GameMetrics.FRAME_INTERVAL.record(elapsed);
+        if (elapsed > worstFrameNanos) worstFrameNanos = elapsed;
+        if (elapsed > frameNanos + frameNanos / 2) droppedFrames += elapsed / frameNanos - 1;
+
+        // Timestep tetap: bisa lebih dari satu langkah node jika frame terlambat
+        accumulator += elapsed;
+        while (accumulator >= segmentNanos) {
+            accumulator -= segmentNanos;
+            if (!advance()) return;
+        }
+
+        boundsAt(fromNode, toNode, progress(), dirty);
+        Rectangle union = dirty.union(lastBounds);
+        lastBounds.setBounds(dirty);
+        viewport.worldToScreen(union, screenDirty);
+        target.repaint(screenDirty);
+    }
+
+    private double progress() {
+        double t = Math.min(1.0, (double) accumulator / segmentNanos);
+        return t * t * (3 - 2 * t); // smoothstep
+    }
+
+    public boolean isMoving(Player player) { return running && player == mover; }
+
+    // Posisi tengah pion yang sedang bergerak (koordinat dunia)
+    public int currentX() {
+        Point a = nodePositions[fromNode];
+        Point b = nodePositions[toNode];
+        return (int) Math.round(a.x + (b.x - a.x) * progress());
+    }
+
+    public int currentY() {
+        Point a = nodePositions[fromNode];
+        Point b = nodePositions[toNode];
+        return (int) Math.round(a.y + (b.y - a.y) * progress());
+    }
+
+    private void boundsAt(int from, int to, double t, Rectangle out) {
+        Point a = nodePositions[from];
+        Point b = nodePositions[to];
+        int x = (int) Math.round(a.x + (b.x - a.x) * t);
+        int y = (int) Math.round(a.y + (b.y - a.y) * t);
+        out.setBounds(x - spriteHalfWidth, y - spriteHalfHeight, spriteHalfWidth * 2, spriteHalfHeight * 2);
+    }
+
+    public long getFrameCount() { return frameCount; }
+    public long getDroppedFrames() { return droppedFrames; }
+    public long getWorstFrameMicros() { return worstFrameNanos / 1000; }
+}
@@ -0,0 +1,109 @@
+package src;
+
+import javax.imageio.ImageIO;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// ---------------------------------------------------------
+// ASSET LOADER
+// ---------------------------------------------------------
+// Gambar dan suara dimuat paralel di background dari classpath (package src),
+// dengan fallback ke folder src/ saat dijalankan langsung dari project.
+// Waktu per asset dan total startup dicatat ke console.
+class AssetLoader {
+    private static final AssetLoader SHARED = new AssetLoader();
+
+    private final ExecutorService pool;
+    private final long createdAt = System.nanoTime();
+    // Hanya asset yang masih dimuat; future keluar sendiri saat selesai
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+
+    private AssetLoader() {
+        int threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "asset-loader");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public static AssetLoader shared() { return SHARED; }
+
+    // Hasil null jika asset tidak ada; pemanggil tetap memakai placeholder
+    public CompletableFuture<BufferedImage> loadImage(String name) {
+        return submit(name, () -> {
+            try (InputStream in = open(name)) {
+                return ImageIO.read(in);
+            }
+        });
+    }
+
+    public CompletableFuture<AudioData> loadSound(String name) {
+        return submit(name, () -> {
+            try (AudioInputStream audioIn = AudioSystem.getAudioInputStream(new BufferedInputStream(open(name)))) {
+                return new AudioData(audioIn.getFormat(), audioIn.readAllBytes());
+            }
+        });
+    }
+
+    // Selesai ketika semua asset yang sudah diminta selesai dimuat (berhasil atau tidak)
+    public CompletableFuture<Void> whenAllLoaded() {
+        return CompletableFuture.allOf(pending.toArray(CompletableFuture<?>[]::new))
+                .thenRun(() -> System.out.printf("Assets ready in %.1f ms%n", (System.nanoTime() - createdAt) / 1e6));
+    }
+
+    private <T> CompletableFuture<T> submit(String name, AssetTask<T> task) {
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                T asset = task.load();
+                System.out.printf("Asset %s loaded in %.1f ms%n", name, (System.nanoTime() - start) / 1e6);
+                return asset;
+            } catch (FileNotFoundException e) {
+                System.err.println("Error: Asset " + name + " not found.");
+            } catch (Exception e) {
+                System.err.println("Error: Asset " + name + " failed to load (" + e.getMessage() + ")");
+            }
+            return null;
+        }, pool);
+        pending.add(future);
+        // Setelah add: jika sudah selesai, remove langsung jalan di thread ini
+        future.whenComplete((asset, error) -> pending.remove(future));
+        return future;
+    }
+
+    private static InputStream open(String name) throws IOException {
+        InputStream in = AssetLoader.class.getResourceAsStream(name);
+        if (in != null) return in;
+        File file = new File("src/" + name);
+        if (!file.exists()) throw new FileNotFoundException(name);
+        return new FileInputStream(file);
+    }
+
+    private interface AssetTask<T> {
+        T load() throws Exception;
+    }
+}
+
+class AudioData {
+    final AudioFormat format;
+    final byte[] data;
+
+    AudioData(AudioFormat format, byte[] data) {
+        this.format = format;
+        this.data = data;
+    }
+}
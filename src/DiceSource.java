@@ -0,0 +1,176 @@
+package src;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+// ---------------------------------------------------------
+// DICE SOURCE
+// ---------------------------------------------------------
+// Sumber lemparan dadu untuk GameManager. Satu roll = nilai 1-6 + arah
+// (maju 80%, mundur 20%), dikemas dalam satu int: bit 0-6 nilai, bit 7 maju
+// (format yang sama dengan record ROLL di EventLog).
+interface DiceSource {
+    int FORWARD_BIT = 0x80;
+    int SIDES = 6;
+    // Maju jika arah 0..3 dari 0..4
+    int DIRECTIONS = 5;
+
+    int roll();
+
+    static int pack(int value, boolean forward) { return value | (forward ? FORWARD_BIT : 0); }
+    static int value(int packed) { return packed & 0x7F; }
+    static boolean isForward(int packed) { return (packed & FORWARD_BIT) != 0; }
+
+    // r uniform di 0..29 -> nilai r % 6, arah r / 6 (satu angka acak per roll)
+    static int fromUniform30(int r) {
+        return pack(r % SIDES + 1, r / SIDES < DIRECTIONS - 1);
+    }
+}
+
+// Perilaku lama: dua panggilan ke java.util.Random per roll (nextInt(6) lalu
+// nextDouble() < 0.8). Dipertahankan supaya hasil seed lama tetap sama.
+class RandomDice implements DiceSource {
+    private final Random random;
+
+    RandomDice(Random random) {
+        this.random = random;
+    }
+
+    @Override
+    public int roll() {
+        int value = random.nextInt(SIDES) + 1;
+        return DiceSource.pack(value, random.nextDouble() < 0.8);
+    }
+}
+
+// SplittableRandom: tanpa atomic/CAS (Random memakai AtomicLong untuk seed),
+// satu panggilan nextInt(30) per roll. split() memberi stream independen untuk
+// thread lain; reseed(deriveSeed(seed, n)) dipakai simulasi supaya game ke-n
+// selalu sama berapa pun jumlah thread-nya.
+class SeededDice implements DiceSource {
+    // Increment state SplittableRandom per nextInt/nextLong
+    static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private SplittableRandom random;
+
+    SeededDice() {
+        this(new SplittableRandom());
+    }
+
+    SeededDice(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private SeededDice(SplittableRandom random) {
+        this.random = random;
+    }
+
+    public SeededDice split() {
+        return new SeededDice(random.split());
+    }
+
+    public void reseed(long seed) {
+        random = new SplittableRandom(seed);
+    }
+
+    // Seed stream ke-index dari seed utama = nextLong() ke-(index + 1) dari
+    // SplittableRandom(seed). Harus lewat mix64: seed + GOLDEN_GAMMA * index saja
+    // membuat stream index + 1 sama dengan stream index yang tergeser satu roll.
+    static long deriveSeed(long seed, long index) {
+        return mix64(seed + GOLDEN_GAMMA * (index + 1));
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public int roll() {
+        return DiceSource.fromUniform30(random.nextInt(SIDES * DIRECTIONS));
+    }
+}
+
+// Roll dibuat per blok ke buffer byte[]: satu nextInt(30^6) menghasilkan enam
+// roll (digit basis 30), jadi biaya RNG per roll ~1/6 SeededDice. Untuk simulasi
+// throughput tinggi; satu instance per thread.
+class BulkDice implements DiceSource {
+    private static final int ROLLS_PER_DRAW = 6;
+    private static final int DRAW_BOUND = 729_000_000; // 30^6
+    private static final int BASE = SIDES * DIRECTIONS;
+
+    private final SplittableRandom random;
+    private final byte[] buffer;
+    private int next;
+
+    BulkDice(long seed) {
+        this(new SplittableRandom(seed), 4096);
+    }
+
+    BulkDice(SplittableRandom random, int bufferSize) {
+        this.random = random;
+        this.buffer = new byte[Math.max(ROLLS_PER_DRAW, bufferSize / ROLLS_PER_DRAW * ROLLS_PER_DRAW)];
+        this.next = buffer.length;
+    }
+
+    public BulkDice split() {
+        return new BulkDice(random.split(), buffer.length);
+    }
+
+    private void refill() {
+        for (int i = 0; i < buffer.length; ) {
+            int draw = random.nextInt(DRAW_BOUND);
+            for (int k = 0; k < ROLLS_PER_DRAW; k++) {
+                buffer[i++] = (byte) DiceSource.fromUniform30(draw % BASE);
+                draw /= BASE;
+            }
+        }
+        next = 0;
+    }
+
+    @Override
+    public int roll() {
+        if (next == buffer.length) refill();
+        return buffer[next++] & 0xFF;
+    }
+}
+
+// Urutan roll tetap, untuk test dan reproduksi bug. parse("3 -2 6"): angka
+// negatif = mundur. Habis -> IllegalStateException, kecuali dibuat berulang.
+class ScriptedDice implements DiceSource {
+    private final int[] rolls;
+    private final boolean repeat;
+    private int next;
+
+    ScriptedDice(int[] packedRolls, boolean repeat) {
+        if (packedRolls.length == 0) throw new IllegalArgumentException("Scripted dice needs at least one roll");
+        for (int packed : packedRolls) {
+            int value = DiceSource.value(packed);
+            if (value < 1 || value > SIDES) throw new IllegalArgumentException("Dice value out of range: " + value);
+        }
+        this.rolls = packedRolls.clone();
+        this.repeat = repeat;
+    }
+
+    static ScriptedDice parse(String script, boolean repeat) {
+        String[] parts = script.trim().split("[\\s,]+");
+        int[] packed = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            int v = Integer.parseInt(parts[i]);
+            packed[i] = DiceSource.pack(Math.abs(v), v > 0);
+        }
+        return new ScriptedDice(packed, repeat);
+    }
+
+    public int remaining() { return repeat ? Integer.MAX_VALUE : rolls.length - next; }
+
+    @Override
+    public int roll() {
+        if (next == rolls.length) {
+            if (!repeat) throw new IllegalStateException("Scripted dice exhausted after " + rolls.length + " rolls");
+            next = 0;
+        }
+        return rolls[next++];
+    }
+}
@@ -0,0 +1,86 @@
+package src;
+
+import java.awt.EventQueue;
+
+// ---------------------------------------------------------
+// EDT WATCHDOG
+// ---------------------------------------------------------
+// Thread daemon yang rutin mengirim heartbeat ke Event Dispatch Thread. Waktu
+// antre heartbeat direkam di GameMetrics.EDT_DISPATCH; jika heartbeat belum
+// jalan setelah threshold, stack trace EDT dicetak sekali per stall supaya
+// terlihat apa yang memblok (paint lambat, I/O di listener, dll).
+class EdtWatchdog {
+    private static EdtWatchdog instance;
+
+    private final long thresholdNanos;
+    private final long intervalMillis;
+    private volatile long pendingSince;
+    private volatile Thread edt;
+    private volatile boolean reported;
+    private volatile long stallStart;
+
+    private EdtWatchdog(long thresholdMillis, long intervalMillis) {
+        this.thresholdNanos = thresholdMillis * 1_000_000L;
+        this.intervalMillis = intervalMillis;
+    }
+
+    // Threshold default 250 ms, bisa diubah dengan -Dgame.edtWatchdogMs=<ms> (0 = mati)
+    static synchronized void start() {
+        if (instance != null) return;
+        long threshold = Long.getLong("game.edtWatchdogMs", 250);
+        if (threshold <= 0) return;
+        instance = new EdtWatchdog(threshold, Math.max(10, threshold / 5));
+        Thread t = new Thread(instance::run, "edt-watchdog");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private void run() {
+        while (true) {
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long now = System.nanoTime();
+            long since = pendingSince;
+            if (since == 0) {
+                pendingSince = now;
+                EventQueue.invokeLater(this::heartbeat);
+            } else if (now - since > thresholdNanos && !reported) {
+                reported = true;
+                stallStart = since;
+                GameMetrics.edtStalls.incrementAndGet();
+                dumpEdt((now - since) / 1_000_000);
+            }
+        }
+    }
+
+    // Jalan di EDT
+    private void heartbeat() {
+        edt = Thread.currentThread();
+        long since = pendingSince;
+        GameMetrics.EDT_DISPATCH.recordSince(since);
+        pendingSince = 0;
+        if (reported) {
+            reported = false;
+            System.err.println("Warning: EDT recovered after " + (System.nanoTime() - stallStart) / 1_000_000 + " ms");
+        }
+    }
+
+    private void dumpEdt(long blockedMillis) {
+        Thread thread = edt;
+        if (thread == null) {
+            // Heartbeat pertama belum pernah jalan; cari EDT dari namanya
+            for (Thread t : Thread.getAllStackTraces().keySet()) {
+                if (t.getName().startsWith("AWT-EventQueue")) thread = t;
+            }
+        }
+        StringBuilder sb = new StringBuilder("Warning: EDT blocked for ").append(blockedMillis).append(" ms");
+        if (thread != null) {
+            sb.append(", ").append(thread.getName()).append(" state ").append(thread.getState());
+            for (StackTraceElement frame : thread.getStackTrace()) sb.append("\n\tat ").append(frame);
+        }
+        System.err.println(sb);
+    }
+}
@@ -0,0 +1,344 @@
+package src;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// ---------------------------------------------------------
+// EVENT LOG
+// ---------------------------------------------------------
+// Log biner append-only di file memory-mapped. Menulis event cukup beberapa
+// put ke memori (tanpa syscall); flush ke disk dilakukan batch oleh thread
+// background. Semua sumber acak (dadu, node score, ladder acak) ikut tercatat,
+// jadi game bisa di-replay persis sama lewat EventReplay.
+//
+// Format: header [magic i32][version u16][length i64], lalu record [type u8][payload]:
+//   GAME_START : [nodeCount i32][players u8][shortcutMode u8][ladderCount u16][start i32, end i32]*[nodeScore u8]*
+//                [graph u8: 0 = jalur createGraph(nodeCount), 1 = edge list][edgeCount i32 ([from i32][to i32][weight i32])*, jika 1]
+//   ROLL       : [seat u8][dice u8, bit 7 = maju]
+//   STEP       : [seat u8][node i32]
+//   SCORE      : [seat u8][node i32][points u16]
+//   UNLOCK/WIN : [seat u8]
+// length = panjang data (header + record) yang ditulis close(); file tidak
+// dipotong selama masih di-map, jadi sisa chunk tetap berisi nol. length 0
+// (tidak ditutup dengan benar): byte 0 menandai akhir log.
+// Dipasang ke GameManager sebagai GameListener (lihat GameManager.setEventLog).
+class EventLog implements GameListener, AutoCloseable {
+    static final int MAGIC = 0x534C4F47; // "SLOG"
+    static final short VERSION = 1;
+    static final int LENGTH_OFFSET = 6;
+    static final int HEADER_SIZE = 14;
+
+    static final byte END = 0;
+    static final byte GAME_START = 1;
+    static final byte ROLL = 2;
+    static final byte STEP = 3;
+    static final byte SCORE = 4;
+    static final byte UNLOCK = 5;
+    static final byte WIN = 6;
+
+    static final byte CHAIN_GRAPH = 0;
+    static final byte EDGE_LIST_GRAPH = 1;
+
+    private static final long CHUNK_SIZE = 16L << 20;
+
+    private final FileChannel channel;
+    private final ScheduledExecutorService flusher;
+    private final Queue<MappedByteBuffer> retired = new ConcurrentLinkedQueue<>();
+    // Chunk pertama (berisi header), untuk menulis length saat close
+    private final MappedByteBuffer header;
+    // buffer hanya disentuh thread game; flusher memakai referensi volatile terpisah
+    private MappedByteBuffer buffer;
+    private volatile MappedByteBuffer flushTarget;
+    private long bufferStart;
+    private long eventCount;
+
+    public EventLog(Path file) throws IOException {
+        this(file, 50);
+    }
+
+    public EventLog(Path file, long flushMillis) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        bufferStart = 0;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, CHUNK_SIZE);
+        buffer.putInt(MAGIC).putShort(VERSION).putLong(0);
+        header = buffer;
+        flushTarget = buffer;
+
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "event-log-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public long getEventCount() { return eventCount; }
+
+    @Override
+    public void gameStarted(GameManager game) {
+        List<Ladder> ladders = game.getLadders();
+        ScoreManager scores = game.getScoreManager();
+        Graph graph = game.getGraph();
+        int nodeCount = graph != null ? graph.size : scores.getNodeCount();
+        // Papan standar cukup satu byte; graph lain dicatat lengkap supaya replay memakai topologi yang sama
+        boolean chain = graph == null || isChain(graph);
+        ensure(1 + 4 + 1 + 1 + 2 + ladders.size() * 8 + nodeCount + 1 + (chain ? 0 : 4 + graph.edgeCount * 12));
+        buffer.put(GAME_START).putInt(nodeCount)
+                .put((byte) game.getAllPlayers().size())
+                .put((byte) game.getShortcutMode().ordinal())
+                .putShort((short) ladders.size());
+        for (Ladder l : ladders) buffer.putInt(l.startIdx).putInt(l.endIdx);
+        for (int i = 0; i < nodeCount; i++) buffer.put((byte) scores.getNodeScore(i));
+        if (chain) {
+            buffer.put(CHAIN_GRAPH);
+        } else {
+            buffer.put(EDGE_LIST_GRAPH).putInt(graph.edgeCount);
+            for (int from = 0; from < graph.size; from++) {
+                int[] targets = graph.neighbours(from);
+                int[] weights = graph.neighbourWeights(from);
+                for (int i = 0; i < graph.degree(from); i++) buffer.putInt(from).putInt(targets[i]).putInt(weights[i]);
+            }
+        }
+        eventCount++;
+    }
+
+    // Sama dengan GraphVisualizer.createGraph(size): i -> i + 1 berbobot 1
+    private static boolean isChain(Graph graph) {
+        for (int i = 0; i < graph.size; i++) {
+            int expected = i < graph.size - 1 ? 1 : 0;
+            if (graph.degree(i) != expected) return false;
+            if (expected == 1 && (graph.neighbour(i, 0) != i + 1 || graph.weight(i, 0) != 1)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void rolled(int seat, int dice, boolean forward) {
+        ensure(3);
+        buffer.put(ROLL).put((byte) seat).put((byte) (dice | (forward ? 0x80 : 0)));
+        eventCount++;
+    }
+
+    @Override
+    public void stepped(int seat, int from, int to) {
+        ensure(6);
+        buffer.put(STEP).put((byte) seat).putInt(to);
+        eventCount++;
+    }
+
+    @Override
+    public void scored(int seat, int node, int points) {
+        ensure(8);
+        buffer.put(SCORE).put((byte) seat).putInt(node).putShort((short) points);
+        eventCount++;
+    }
+
+    @Override
+    public void shortcutUnlocked(int seat) {
+        ensure(2);
+        buffer.put(UNLOCK).put((byte) seat);
+        eventCount++;
+    }
+
+    @Override
+    public void won(int seat) {
+        ensure(2);
+        buffer.put(WIN).put((byte) seat);
+        eventCount++;
+    }
+
+    // Pindah ke region mapped berikutnya jika sisa chunk tidak cukup
+    private void ensure(int bytes) {
+        if (buffer.remaining() >= bytes) return;
+        try {
+            long position = bufferStart + buffer.position();
+            retired.add(buffer);
+            bufferStart = position;
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, Math.max(CHUNK_SIZE, bytes));
+            flushTarget = buffer;
+        } catch (IOException e) {
+            throw new IllegalStateException("Event log cannot grow", e);
+        }
+    }
+
+    public void flush() {
+        MappedByteBuffer old;
+        while ((old = retired.poll()) != null) old.force();
+        flushTarget.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Panjang data ke header, bukan truncate: file yang masih di-map tidak
+        // boleh dipotong (gagal di Windows, tidak terdefinisi di tempat lain)
+        header.putLong(LENGTH_OFFSET, bufferStart + buffer.position());
+        flush();
+        header.force();
+        channel.close();
+    }
+}
+
+// Membangun ulang state game dari EventLog dengan menjalankan ulang GameManager
+// memakai dadu yang tercatat. STEP/SCORE dipakai sebagai verifikasi.
+class EventReplay {
+    GameManager game;
+    long events;
+    long games;
+    long mismatches;
+
+    private Listener listener;
+
+    // Dipanggil selama replay (dipakai FrameExporter untuk merender game yang tercatat)
+    interface Listener {
+        void gameStarted(GameManager game);
+        void stepped(GameManager game, Player mover, int from, int to);
+        void turnEnded(GameManager game, Player mover);
+    }
+
+    // Replay sampai maxEvents event (Long.MAX_VALUE = seluruh log)
+    static EventReplay replay(Path file, long maxEvents) throws IOException {
+        return replay(file, maxEvents, null);
+    }
+
+    static EventReplay replay(Path file, long maxEvents, Listener listener) throws IOException {
+        EventReplay replay = new EventReplay();
+        replay.listener = listener;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(EventLog.HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) { }
+            if (header.hasRemaining() || header.getInt(0) != EventLog.MAGIC) throw new IOException("Not an event log: " + file);
+            if (header.getShort(4) != EventLog.VERSION) {
+                throw new IOException("Unsupported event log version " + header.getShort(4) + ": " + file);
+            }
+            // length 0: log tidak ditutup, dibaca sampai byte END
+            long length = header.getLong(EventLog.LENGTH_OFFSET);
+            long size = length > 0 ? Math.min(length, channel.size()) : channel.size();
+            long offset = EventLog.HEADER_SIZE;
+            List<MappedByteBuffer> chunks = new ArrayList<>();
+            while (offset < size) {
+                long len = Math.min(Integer.MAX_VALUE, size - offset);
+                chunks.add(channel.map(FileChannel.MapMode.READ_ONLY, offset, len));
+                offset += len;
+            }
+            // Record tidak pernah terpotong di batas 2 GB kecuali log sangat besar; cukup per chunk
+            for (int c = 0; c < chunks.size() && replay.events < maxEvents; c++) {
+                if (!replay.apply(chunks.get(c), maxEvents)) break;
+            }
+        }
+        return replay;
+    }
+
+    private boolean apply(MappedByteBuffer buf, long maxEvents) {
+        while (buf.hasRemaining() && events < maxEvents) {
+            byte type = buf.get();
+            switch (type) {
+                case EventLog.END:
+                    return false;
+                case EventLog.GAME_START: {
+                    int nodeCount = buf.getInt();
+                    int players = buf.get() & 0xFF;
+                    ShortcutMode mode = ShortcutMode.values()[buf.get()];
+                    int ladderCount = buf.getShort() & 0xFFFF;
+                    List<Ladder> ladders = new ArrayList<>(ladderCount);
+                    for (int i = 0; i < ladderCount; i++) ladders.add(new Ladder(buf.getInt(), buf.getInt()));
+                    int[] nodeScores = new int[nodeCount];
+                    for (int i = 0; i < nodeCount; i++) nodeScores[i] = buf.get() & 0xFF;
+                    Graph graph = readGraph(buf, nodeCount);
+                    ScoreManager scoreManager = new ScoreManager(nodeScores);
+                    game = new GameManager(scoreManager);
+                    game.setGraph(graph);
+                    game.setLadders(ladders);
+                    game.setShortcutMode(mode);
+                    game.resetGame(players);
+                    scoreManager.resetScores(game.getAllPlayers());
+                    games++;
+                    if (listener != null) listener.gameStarted(game);
+                    break;
+                }
+                case EventLog.ROLL: {
+                    int seat = buf.get() & 0xFF;
+                    int packed = buf.get() & 0xFF;
+                    verify(game.getCurrentPlayer().seat == seat);
+                    verify(game.rollDice(packed & 0x7F, (packed & 0x80) != 0) >= 0);
+                    break;
+                }
+                case EventLog.STEP: {
+                    int seat = buf.get() & 0xFF;
+                    int node = buf.getInt();
+                    Player player = game.getCurrentPlayer();
+                    int from = player.position;
+                    verify(game.updateAnimation() && player.seat == seat && player.position == node);
+                    if (listener != null) listener.stepped(game, player, from, player.position);
+                    break;
+                }
+                case EventLog.SCORE: {
+                    int seat = buf.get() & 0xFF;
+                    int node = buf.getInt();
+                    buf.getShort();
+                    Player player = game.getCurrentPlayer();
+                    verify(!game.updateAnimation() && player.seat == seat && player.position == node);
+                    if (listener != null) listener.turnEnded(game, player);
+                    break;
+                }
+                case EventLog.UNLOCK: {
+                    Player player = game.getAllPlayers().get(buf.get() & 0xFF);
+                    verify(player.isShortestPathActive);
+                    break;
+                }
+                case EventLog.WIN: {
+                    Player player = game.getAllPlayers().get(buf.get() & 0xFF);
+                    verify(game.getWinner() == player);
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("Corrupt event log, unknown record type " + type);
+            }
+            events++;
+        }
+        return true;
+    }
+
+    private static Graph readGraph(MappedByteBuffer buf, int nodeCount) {
+        byte kind = buf.get();
+        if (kind == EventLog.CHAIN_GRAPH) return GraphVisualizer.createGraph(nodeCount);
+        if (kind != EventLog.EDGE_LIST_GRAPH) throw new IllegalStateException("Corrupt event log, unknown graph kind " + kind);
+        String[] labels = new String[nodeCount];
+        for (int i = 0; i < nodeCount; i++) labels[i] = String.valueOf(i + 1);
+        Graph graph = new Graph(nodeCount, labels);
+        int edges = buf.getInt();
+        for (int i = 0; i < edges; i++) graph.addEdge(buf.getInt(), buf.getInt(), buf.getInt());
+        graph.trimToSize();
+        return graph;
+    }
+
+    private void verify(boolean ok) {
+        if (!ok) mismatches++;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path file = Path.of(args.length > 0 ? args[0] : "game-events.log");
+        long start = System.nanoTime();
+        EventReplay replay = replay(file, Long.MAX_VALUE);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Replayed %d events (%d games) in %.3f s -> %.0f events/sec, %d mismatches%n",
+                replay.events, replay.games, seconds, replay.events / seconds, replay.mismatches);
+    }
+}
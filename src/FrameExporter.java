@@ -0,0 +1,428 @@
+package src;
+
+import javax.swing.SwingUtilities;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+// ---------------------------------------------------------
+// FRAME EXPORTER
+// ---------------------------------------------------------
+// Merender game (simulasi atau EventLog) frame per frame ke PNG tanpa window,
+// memakai kode gambar GraphPanel yang sama. Thread pemanggil memainkan game dan
+// membuat GameSnapshot per frame; worker (masing-masing punya GraphPanel,
+// GameManager dan BufferedImage sendiri) merender + encode PNG secara paralel;
+// satu thread writer menulis file sesuai urutan frame. Antrian frame dibatasi,
+// jadi producer menunggu jika writer/encoder tertinggal (memori tetap kecil).
+class FrameExporter implements EventReplay.Listener, AutoCloseable {
+    private static final Future<byte[]> END = CompletableFuture.completedFuture(null);
+
+    private final Path outputDir;
+    private final int width;
+    private final int height;
+    private final int fps;
+    private final ExecutorService workers;
+    private final ThreadLocal<RenderContext> contexts = new ThreadLocal<>();
+    private final BlockingQueue<Future<byte[]>> pending;
+    private final Thread writer;
+    private volatile Exception failure;
+    private volatile long framesWritten;
+
+    // State producer (thread pemanggil)
+    private ExportBoard board;
+    private Point[] nodePositions;
+    private int frameCount;
+
+    public FrameExporter(Path outputDir, int width, int height, int fps, int threads) throws IOException {
+        this.outputDir = Files.createDirectories(outputDir);
+        this.width = width;
+        this.height = height;
+        this.fps = fps;
+        AtomicInteger workerId = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "frame-render-" + workerId.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        // Maksimal dua frame per worker menunggu ditulis
+        this.pending = new ArrayBlockingQueue<>(Math.max(2, threads * 2));
+        this.writer = new Thread(this::writeFrames, "frame-writer");
+        this.writer.start();
+    }
+
+    public int getFrameCount() { return frameCount; }
+    public long getFramesWritten() { return framesWritten; }
+
+    // --- Producer: dipanggil saat game dimainkan / di-replay ---
+
+    @Override
+    public void gameStarted(GameManager game) {
+        board = new ExportBoard(game);
+        nodePositions = GraphPanel.layoutNodes(board.graph.size);
+        hold(game, fps / 2);
+    }
+
+    @Override
+    public void stepped(GameManager game, Player mover, int from, int to) {
+        long nanos = AnimationEngine.segmentNanos(nodePositions[from], nodePositions[to], GraphPanel.CELL_SIZE);
+        int frames = (int) Math.max(1, Math.round(nanos * fps / 1e9));
+        for (int k = 1; k <= frames; k++) {
+            emit(GameSnapshot.capture(board, game, mover.seat, from, to, (double) k / frames));
+        }
+    }
+
+    @Override
+    public void turnEnded(GameManager game, Player mover) {
+        // Jeda antar giliran, lebih lama di akhir game
+        hold(game, game.getWinner() != null ? fps * 2 : fps / 3);
+    }
+
+    // Frame diam: dirender sekali, PNG yang sama ditulis berulang
+    private void hold(GameManager game, int frames) {
+        if (frames <= 0) return;
+        Future<byte[]> frame = submit(GameSnapshot.capture(board, game, -1, 0, 0, 0));
+        for (int k = 0; k < frames; k++) enqueue(frame);
+    }
+
+    private void emit(GameSnapshot snapshot) {
+        enqueue(submit(snapshot));
+    }
+
+    private Future<byte[]> submit(GameSnapshot snapshot) {
+        if (failure != null) throw new IllegalStateException("Frame export failed", failure);
+        return workers.submit(() -> render(snapshot));
+    }
+
+    private void enqueue(Future<byte[]> frame) {
+        try {
+            pending.put(frame);
+        } catch (InterruptedException e) {
+            frame.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Frame export interrupted", e);
+        }
+        frameCount++;
+    }
+
+    // --- Worker ---
+
+    private byte[] render(GameSnapshot snapshot) throws Exception {
+        RenderContext context = contexts.get();
+        if (context == null || context.board != snapshot.board) {
+            if (context != null) context.dispose();
+            context = new RenderContext(snapshot.board, width, height);
+            contexts.set(context);
+        }
+        return context.render(snapshot);
+    }
+
+    // --- Writer: urutan file = urutan emit ---
+
+    private void writeFrames() {
+        while (true) {
+            Future<byte[]> frame;
+            try {
+                frame = pending.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (frame == END) return;
+            if (failure != null) {
+                // Tetap kosongkan antrian supaya producer tidak macet
+                frame.cancel(false);
+                continue;
+            }
+            try {
+                byte[] png = frame.get();
+                Files.write(outputDir.resolve(String.format("frame_%06d.png", framesWritten)), png);
+                framesWritten++;
+            } catch (IOException | ExecutionException e) {
+                failure = e;
+            } catch (InterruptedException e) {
+                failure = e;
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            pending.put(END);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            workers.shutdownNow();
+        }
+        if (failure != null) throw new IOException("Frame export failed after " + framesWritten + " frames", failure);
+    }
+
+    // Mainkan satu game seeded lalu render semua frame-nya
+    public void exportSimulated(int boardSize, int players, long seed) {
+        int nodeCount = boardSize * boardSize;
+        Random random = new Random(seed);
+        ScoreManager scoreManager = new ScoreManager(nodeCount, random);
+        GameManager game = new GameManager(scoreManager, random);
+        game.setGraph(GraphVisualizer.createGraph(nodeCount));
+        game.setLadders(GraphVisualizer.createLadders(random, nodeCount));
+        game.setShortcutMode(ShortcutMode.fromProperty());
+        game.resetGame(players);
+        scoreManager.resetScores(game.getAllPlayers());
+
+        gameStarted(game);
+        for (int rolls = 0; game.getWinner() == null && rolls < SimulationEngine.MAX_ROLLS_PER_GAME; rolls++) {
+            Player mover = game.getCurrentPlayer();
+            if (game.rollDice() < 0) break;
+            while (true) {
+                int from = mover.position;
+                if (!game.updateAnimation()) break;
+                stepped(game, mover, from, mover.position);
+            }
+            turnEnded(game, mover);
+        }
+    }
+
+    public void exportReplay(Path log) throws IOException {
+        EventReplay replay = EventReplay.replay(log, Long.MAX_VALUE, this);
+        if (replay.mismatches > 0) {
+            System.err.println("Error: Replay of " + log + " had " + replay.mismatches + " mismatches");
+        }
+    }
+
+    // FrameExporter <outDir> [seed | event-log] [threads] [fps] [boardSize] [players]
+    public static void main(String[] args) throws Exception {
+        if (System.getProperty("java.awt.headless") == null) System.setProperty("java.awt.headless", "true");
+        Path outDir = Path.of(args.length > 0 ? args[0] : "frames");
+        String source = args.length > 1 ? args[1] : "42";
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        int fps = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+        int boardSize = args.length > 4 ? Integer.parseInt(args[4]) : 8;
+        int players = args.length > 5 ? Integer.parseInt(args[5]) : 2;
+
+        long start = System.nanoTime();
+        FrameExporter exporter = new FrameExporter(outDir, 1100, 760, fps, threads);
+        try {
+            if (source.matches("-?\\d+")) exporter.exportSimulated(boardSize, players, Long.parseLong(source));
+            else exporter.exportReplay(Path.of(source));
+        } finally {
+            exporter.close();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double videoSeconds = (double) exporter.getFramesWritten() / fps;
+        System.out.printf("Exported %d frames (%.1f s of video at %d fps) to %s in %.2f s, %d threads -> %.0f frames/sec, %.1fx real time%n",
+                exporter.getFramesWritten(), videoSeconds, fps, outDir, seconds, threads,
+                exporter.getFramesWritten() / seconds, videoSeconds / seconds);
+    }
+}
+
+// Papan yang sedang diexport; worker membuat render context baru jika berbeda
+class ExportBoard {
+    final Graph graph;
+    final List<Ladder> ladders;
+    final int[] nodeScores;
+    final int players;
+
+    ExportBoard(GameManager game) {
+        this.graph = game.getGraph();
+        this.ladders = new ArrayList<>(game.getLadders());
+        this.nodeScores = game.getScoreManager().copyNodeScores();
+        this.players = game.getAllPlayers().size();
+    }
+}
+
+// State yang terlihat di satu frame (immutable, aman dikirim ke worker)
+class GameSnapshot {
+    final ExportBoard board;
+    final int[] position;
+    final int[] score;
+    final int[] rollCount;
+    final boolean[] unlocked;
+    // Seat dalam urutan leaderboard
+    final int[] ranking;
+    final int currentSeat;
+    final int lastDiceRoll;
+    final boolean lastMoveForward;
+    // Pion yang sedang bergerak (-1 jika tidak ada) dan posisinya di antara dua node
+    final int moverSeat;
+    final int moverFrom;
+    final int moverTo;
+    final double moverProgress;
+
+    private GameSnapshot(ExportBoard board, GameManager game, int moverSeat, int moverFrom, int moverTo,
+                         double moverProgress) {
+        List<Player> players = game.getAllPlayers();
+        int n = players.size();
+        this.board = board;
+        this.position = new int[n];
+        this.score = new int[n];
+        this.rollCount = new int[n];
+        this.unlocked = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            Player p = players.get(i);
+            position[i] = p.position;
+            score[i] = p.totalScore;
+            rollCount[i] = p.rollCount;
+            unlocked[i] = p.isShortestPathActive;
+        }
+        List<Player> leaderboard = game.getScoreManager().getLeaderboard(players);
+        this.ranking = new int[leaderboard.size()];
+        for (int i = 0; i < ranking.length; i++) ranking[i] = leaderboard.get(i).seat;
+        this.currentSeat = game.getCurrentPlayer().seat;
+        this.lastDiceRoll = game.getLastDiceRoll();
+        this.lastMoveForward = game.wasLastMoveForward();
+        this.moverSeat = moverSeat;
+        this.moverFrom = moverFrom;
+        this.moverTo = moverTo;
+        this.moverProgress = moverProgress;
+    }
+
+    static GameSnapshot capture(ExportBoard board, GameManager game, int moverSeat, int from, int to, double t) {
+        return new GameSnapshot(board, game, moverSeat, from, to, t);
+    }
+}
+
+// GraphPanel + GameManager + target image milik satu worker
+class RenderContext {
+    final ExportBoard board;
+    private final GameManager game;
+    private GraphPanel panel;
+    private final BufferedImage image;
+    private final Graphics2D g2;
+    private final PngEncoder encoder;
+
+    RenderContext(ExportBoard board, int width, int height) throws Exception {
+        this.board = board;
+        ScoreManager scores = new ScoreManager(board.nodeScores);
+        game = new GameManager(scores);
+        game.setGraph(board.graph);
+        game.setLadders(board.ladders);
+        game.resetGame(board.players);
+        scores.resetScores(game.getAllPlayers());
+        // Komponen Swing dibuat di EDT (seperti PaintBenchmark), setelah itu hanya worker ini yang memakainya
+        SwingUtilities.invokeAndWait(() -> {
+            panel = new GraphPanel(board.graph, game, board.ladders, scores);
+            panel.setSize(width, height);
+        });
+        panel.assetsReady().join();
+        image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        g2 = image.createGraphics();
+        encoder = new PngEncoder(width, height);
+    }
+
+    byte[] render(GameSnapshot snapshot) throws IOException {
+        game.restore(snapshot);
+        AnimationEngine animation = panel.getAnimation();
+        if (snapshot.moverSeat >= 0) {
+            Player mover = game.getAllPlayers().get(snapshot.moverSeat);
+            animation.pose(mover, snapshot.moverFrom, snapshot.moverTo, snapshot.moverProgress);
+        } else {
+            animation.stop();
+        }
+        panel.paintComponent(g2);
+        return encoder.encode(((DataBufferInt) image.getRaster().getDataBuffer()).getData());
+    }
+
+    void dispose() {
+        g2.dispose();
+        encoder.end();
+    }
+}
+
+// Encoder PNG RGB 8-bit langsung dari raster int[] (TYPE_INT_RGB). ImageIO
+// butuh 30-90 ms per frame 1100x760, jauh di atas paint (~1 ms); di sini
+// filter Sub + Deflater BEST_SPEED sekitar 10 ms. Buffer dipakai ulang.
+class PngEncoder {
+    private static final byte[] SIGNATURE = {(byte) 137, 'P', 'N', 'G', '\r', '\n', 26, '\n'};
+    private static final int FILTER_SUB = 1;
+
+    private final int width;
+    private final int height;
+    private final byte[] row;
+    private final byte[] chunk = new byte[64 * 1024];
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final CRC32 crc = new CRC32();
+    private final ByteArrayOutputStream idat = new ByteArrayOutputStream(256 * 1024);
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(256 * 1024);
+
+    PngEncoder(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.row = new byte[1 + width * 3];
+    }
+
+    byte[] encode(int[] pixels) throws IOException {
+        idat.reset();
+        deflater.reset();
+        row[0] = FILTER_SUB;
+        for (int y = 0; y < height; y++) {
+            int o = 1;
+            int pr = 0, pg = 0, pb = 0;
+            for (int x = 0, i = y * width; x < width; x++, i++) {
+                int p = pixels[i];
+                int r = (p >> 16) & 0xFF, g = (p >> 8) & 0xFF, b = p & 0xFF;
+                row[o++] = (byte) (r - pr);
+                row[o++] = (byte) (g - pg);
+                row[o++] = (byte) (b - pb);
+                pr = r;
+                pg = g;
+                pb = b;
+            }
+            deflater.setInput(row);
+            while (!deflater.needsInput()) idat.write(chunk, 0, deflater.deflate(chunk));
+        }
+        deflater.finish();
+        while (!deflater.finished()) idat.write(chunk, 0, deflater.deflate(chunk));
+
+        out.reset();
+        out.write(SIGNATURE);
+        byte[] header = new byte[13];
+        ByteBuffer.wrap(header).putInt(width).putInt(height).put((byte) 8).put((byte) 2);
+        writeChunk("IHDR", header, header.length);
+        writeChunk("IDAT", idat.toByteArray(), idat.size());
+        writeChunk("IEND", header, 0);
+        return out.toByteArray();
+    }
+
+    private void writeChunk(String type, byte[] data, int length) {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        writeInt(length);
+        crc.reset();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        out.write(typeBytes, 0, 4);
+        out.write(data, 0, length);
+        writeInt((int) crc.getValue());
+    }
+
+    private void writeInt(int v) {
+        out.write(v >>> 24);
+        out.write(v >>> 16);
+        out.write(v >>> 8);
+        out.write(v);
+    }
+
+    void end() {
+        deflater.end();
+    }
+}
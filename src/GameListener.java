@@ -0,0 +1,212 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ---------------------------------------------------------
+// GAME LISTENER
+// ---------------------------------------------------------
+// Event game yang di-push oleh GameManager, dipanggil langsung (sinkron) di
+// thread yang menjalankan game (EDT untuk GUI). Parameter berupa seat/node
+// primitif supaya tanpa alokasi dan tetap valid jika diteruskan ke thread lain.
+// Urutan per roll: rolled, stepped (+ ladderTaken) per langkah, scored,
+// shortcutUnlocked, won, turnChanged. Semua method default kosong.
+interface GameListener {
+    // Game baru (resetGame)
+    default void gameStarted(GameManager game) {}
+    default void rolled(int seat, int dice, boolean forward) {}
+    // Setiap langkah rencana, termasuk yang tertahan (from == to, di goal / di node 0 saat mundur)
+    default void stepped(int seat, int from, int to) {}
+    // Langkah barusan naik ladder (dikirim setelah stepped yang sama)
+    default void ladderTaken(int seat, int from, int to) {}
+    default void scored(int seat, int node, int points) {}
+    default void shortcutUnlocked(int seat) {}
+    default void won(int seat) {}
+    // Akhir giliran; nextSeat == seat jika pemain dapat roll lagi (node kelipatan 5)
+    default void turnChanged(int seat, int nextSeat) {}
+}
+
+// Event dari TableSimulation: banyak meja tanpa GameManager. Awal game tiap meja
+// dikirim lewat tableStarted (gameStarted tidak dipanggil); seat di event lain
+// adalah seat di dalam meja.
+interface TableListener extends GameListener {
+    default void tableStarted(int table) {}
+}
+
+// Pengiriman async untuk consumer berat (logging, analytics). Thread game hanya
+// menulis event ke batch int[] (4 int per event); batch diserahkan ke thread
+// dispatcher jika penuh atau, di akhir giliran, jika sudah lebih lama dari
+// flushMillis. Dispatcher memutar ulang batch ke delegate dalam urutan yang sama.
+// Batch dipakai ulang lewat pool, jadi tidak ada alokasi per event. Jika
+// dispatcher tertinggal dan antrean penuh, thread game menunggu, juga saat
+// di-interrupt (tidak ada event yang dibuang). gameStarted menerima GameManager
+// yang sama, yang state-nya mungkin sudah berjalan lebih jauh. Satu instance per
+// GameManager (satu writer).
+class AsyncGameListener implements GameListener, AutoCloseable {
+    private static final int GAME_START = 0, ROLL = 1, STEP = 2, LADDER = 3, SCORE = 4,
+            UNLOCK = 5, WIN = 6, TURN = 7;
+    private static final int INTS_PER_EVENT = 4;
+
+    private final GameListener delegate;
+    private final long flushNanos;
+    private final BlockingQueue<Batch> pending;
+    private final BlockingQueue<Batch> free;
+    private final Thread dispatcher;
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final int batchEvents;
+    private Batch current;
+    private long lastHandoff = System.nanoTime();
+    private boolean closed;
+
+    AsyncGameListener(GameListener delegate) {
+        this(delegate, 1024, 50);
+    }
+
+    AsyncGameListener(GameListener delegate, int batchEvents, long flushMillis) {
+        this.delegate = delegate;
+        this.batchEvents = Math.max(1, batchEvents);
+        this.flushNanos = TimeUnit.MILLISECONDS.toNanos(flushMillis);
+        int capacity = 8;
+        pending = new ArrayBlockingQueue<>(capacity);
+        free = new ArrayBlockingQueue<>(capacity + 2);
+        current = new Batch(this.batchEvents);
+        dispatcher = new Thread(this::runDispatcher, "game-events");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    private static class Batch {
+        final int[] events;
+        // Referensi GameManager untuk event GAME_START (index di events)
+        final List<GameManager> games = new ArrayList<>();
+        int size;
+
+        Batch(int capacity) {
+            events = new int[capacity * INTS_PER_EVENT];
+        }
+    }
+
+    // Jumlah event yang sudah sampai ke delegate
+    public long getDelivered() { return delivered.get(); }
+    public long getBatches() { return batches.get(); }
+
+    @Override public void gameStarted(GameManager game) {
+        current.games.add(game);
+        add(GAME_START, current.games.size() - 1, 0, 0);
+    }
+    @Override public void rolled(int seat, int dice, boolean forward) { add(ROLL, seat, dice, forward ? 1 : 0); }
+    @Override public void stepped(int seat, int from, int to) { add(STEP, seat, from, to); }
+    @Override public void ladderTaken(int seat, int from, int to) { add(LADDER, seat, from, to); }
+    @Override public void scored(int seat, int node, int points) { add(SCORE, seat, node, points); }
+    @Override public void shortcutUnlocked(int seat) { add(UNLOCK, seat, 0, 0); }
+    @Override public void won(int seat) { add(WIN, seat, 0, 0); }
+
+    @Override
+    public void turnChanged(int seat, int nextSeat) {
+        add(TURN, seat, nextSeat, 0);
+        if (current.size > 0 && System.nanoTime() - lastHandoff >= flushNanos) handOff();
+    }
+
+    private void add(int type, int a, int b, int c) {
+        Batch batch = current;
+        int i = batch.size * INTS_PER_EVENT;
+        batch.events[i] = type;
+        batch.events[i + 1] = a;
+        batch.events[i + 2] = b;
+        batch.events[i + 3] = c;
+        // Batch penuh langsung diserahkan
+        if (++batch.size == batchEvents) handOff();
+    }
+
+    // Serahkan batch yang sedang diisi (dipanggil thread game)
+    public void flush() {
+        if (current.size > 0) handOff();
+    }
+
+    private void handOff() {
+        if (closed) {
+            System.err.println("Error: Game events after close are dropped");
+            current.size = 0;
+            current.games.clear();
+            return;
+        }
+        enqueue(current);
+        Batch next = free.poll();
+        current = next != null ? next : new Batch(batchEvents);
+        lastHandoff = System.nanoTime();
+    }
+
+    // Tunggu tempat di antrean walau thread game di-interrupt (batch penuh tidak boleh
+    // tetap jadi current); status interrupt dipulihkan setelahnya
+    private void enqueue(Batch batch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                pending.put(batch);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private void runDispatcher() {
+        while (true) {
+            Batch batch;
+            try {
+                batch = pending.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            // Batch kosong = tanda close()
+            if (batch.size == 0) return;
+            try {
+                dispatch(batch);
+            } catch (RuntimeException e) {
+                System.err.println("Error: Game listener failed (" + e + ")");
+            }
+            delivered.addAndGet(batch.size);
+            batches.incrementAndGet();
+            batch.size = 0;
+            batch.games.clear();
+            free.offer(batch);
+        }
+    }
+
+    private void dispatch(Batch batch) {
+        int[] e = batch.events;
+        for (int i = 0; i < batch.size * INTS_PER_EVENT; i += INTS_PER_EVENT) {
+            switch (e[i]) {
+                case GAME_START: delegate.gameStarted(batch.games.get(e[i + 1])); break;
+                case ROLL: delegate.rolled(e[i + 1], e[i + 2], e[i + 3] != 0); break;
+                case STEP: delegate.stepped(e[i + 1], e[i + 2], e[i + 3]); break;
+                case LADDER: delegate.ladderTaken(e[i + 1], e[i + 2], e[i + 3]); break;
+                case SCORE: delegate.scored(e[i + 1], e[i + 2], e[i + 3]); break;
+                case UNLOCK: delegate.shortcutUnlocked(e[i + 1]); break;
+                case WIN: delegate.won(e[i + 1]); break;
+                case TURN: delegate.turnChanged(e[i + 1], e[i + 2]); break;
+                default: throw new IllegalStateException("Unknown game event " + e[i]);
+            }
+        }
+    }
+
+    // Kirim sisa event lalu tunggu dispatcher selesai (dipanggil thread game)
+    @Override
+    public void close() {
+        if (closed) return;
+        flush();
+        closed = true;
+        enqueue(new Batch(0));
+        try {
+            dispatcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
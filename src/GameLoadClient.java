@@ -0,0 +1,200 @@
+package src;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+// ---------------------------------------------------------
+// GAME LOAD CLIENT
+// ---------------------------------------------------------
+// Load generator untuk GameServer: setiap koneksi memegang beberapa meja dan
+// roll bergiliran di antara meja-meja itu (meja baru dibuat setiap ada pemenang).
+// Melaporkan throughput, latency roll p50/p99 dan jumlah meja per core.
+class GameLoadClient {
+    private final String host;
+    private final int port;
+    private final int connections;
+    private final int tablesPerConnection;
+    private final int playersPerTable;
+    private final long durationNanos;
+
+    public GameLoadClient(String host, int port, int connections, int tablesPerConnection,
+                          int playersPerTable, long durationMillis) {
+        this.host = host;
+        this.port = port;
+        this.connections = connections;
+        this.tablesPerConnection = tablesPerConnection;
+        this.playersPerTable = playersPerTable;
+        this.durationNanos = durationMillis * 1_000_000L;
+    }
+
+    public void run() throws Exception {
+        List<ClientWorker> workers = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(connections);
+        long start = System.nanoTime();
+        for (int i = 0; i < connections; i++) {
+            ClientWorker w = new ClientWorker(done);
+            workers.add(w);
+            Thread t = new Thread(w, "load-client-" + i);
+            t.setDaemon(true);
+            t.start();
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+
+        long rolls = 0, games = 0, errors = 0;
+        int samples = 0;
+        for (ClientWorker w : workers) {
+            rolls += w.rolls;
+            games += w.gamesFinished;
+            errors += w.errors;
+            samples += w.latencyCount;
+        }
+        long[] latencies = new long[samples];
+        int pos = 0;
+        for (ClientWorker w : workers) {
+            System.arraycopy(w.latencies, 0, latencies, pos, w.latencyCount);
+            pos += w.latencyCount;
+        }
+        Arrays.sort(latencies);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        int tables = connections * tablesPerConnection;
+        System.out.printf("Connections: %d, concurrent tables: %d (%.1f per core on %d cores)%n",
+                connections, tables, (double) tables / cores, cores);
+        System.out.printf("Rolls: %d in %.2f s -> %.0f rolls/sec (%.0f per core), games finished: %d, errors: %d%n",
+                rolls, elapsed / 1e9, rolls / (elapsed / 1e9), rolls / (elapsed / 1e9) / cores, games, errors);
+        if (samples > 0) {
+            System.out.printf("Roll latency p50: %.1f us, p99: %.1f us, max: %.1f us%n",
+                    percentile(latencies, 0.50) / 1e3, percentile(latencies, 0.99) / 1e3,
+                    latencies[latencies.length - 1] / 1e3);
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+    }
+
+    private class ClientWorker implements Runnable {
+        private static final int MAX_SAMPLES = 1 << 20;
+        final CountDownLatch done;
+        final ByteBuffer request = ByteBuffer.allocateDirect(GameProtocol.REQUEST_SIZE);
+        final ByteBuffer response = ByteBuffer.allocateDirect(GameProtocol.maxResponseSize());
+        final ByteBuffer lengthBuf = ByteBuffer.allocateDirect(2);
+        long[] latencies = new long[1024];
+        int latencyCount;
+        long rolls;
+        long gamesFinished;
+        long errors;
+
+        ClientWorker(CountDownLatch done) { this.done = done; }
+
+        @Override
+        public void run() {
+            try (SocketChannel channel = SocketChannel.open(new InetSocketAddress(host, port))) {
+                channel.socket().setTcpNoDelay(true);
+                int[] tableIds = new int[tablesPerConnection];
+                for (int i = 0; i < tableIds.length; i++) tableIds[i] = join(channel);
+
+                long deadline = System.nanoTime() + durationNanos;
+                int next = 0;
+                while (System.nanoTime() < deadline) {
+                    int slot = next++ % tableIds.length;
+                    long t0 = System.nanoTime();
+                    send(channel, GameProtocol.OP_ROLL, 0, tableIds[slot]);
+                    ByteBuffer r = receive(channel);
+                    recordLatency(System.nanoTime() - t0);
+
+                    r.get(); // opcode
+                    byte status = r.get();
+                    if (status == GameProtocol.STATUS_OK) {
+                        rolls++;
+                        r.position(r.position() + 9);
+                        if ((r.get() & 0xFF) != GameProtocol.NO_WINNER) {
+                            gamesFinished++;
+                            tableIds[slot] = join(channel);
+                        }
+                    } else {
+                        errors++;
+                        tableIds[slot] = join(channel);
+                    }
+                }
+            } catch (IOException e) {
+                errors++;
+                System.err.println("Error: load client " + e.getMessage());
+            } finally {
+                done.countDown();
+            }
+        }
+
+        private int join(SocketChannel channel) throws IOException {
+            send(channel, GameProtocol.OP_JOIN, playersPerTable, -1);
+            ByteBuffer r = receive(channel);
+            r.get();
+            r.get();
+            return r.getInt();
+        }
+
+        private void send(SocketChannel channel, byte opcode, int arg, int tableId) throws IOException {
+            request.clear();
+            GameProtocol.writeRequest(request, opcode, arg, tableId);
+            request.flip();
+            while (request.hasRemaining()) channel.write(request);
+        }
+
+        private ByteBuffer receive(SocketChannel channel) throws IOException {
+            lengthBuf.clear();
+            readFully(channel, lengthBuf);
+            int length = lengthBuf.getShort(0) & 0xFFFF;
+            response.clear().limit(length);
+            readFully(channel, response);
+            response.flip();
+            return response;
+        }
+
+        private void readFully(SocketChannel channel, ByteBuffer buf) throws IOException {
+            while (buf.hasRemaining()) {
+                if (channel.read(buf) < 0) throw new IOException("server closed connection");
+            }
+        }
+
+        private void recordLatency(long nanos) {
+            if (latencyCount == latencies.length) {
+                if (latencies.length >= MAX_SAMPLES) return;
+                latencies = Arrays.copyOf(latencies, latencies.length * 2);
+            }
+            latencies[latencyCount++] = nanos;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Argumen: [port] [connections] [tablesPerConnection] [seconds] [--embedded]
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7070;
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int tablesPerConnection = args.length > 2 ? Integer.parseInt(args[2]) : 32;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        boolean embedded = args.length > 4 && args[4].equals("--embedded");
+
+        GameServer server = null;
+        if (embedded) {
+            server = new GameServer(port, Runtime.getRuntime().availableProcessors(),
+                    GraphVisualizer.createGraph(64), GraphVisualizer.createLadders(new Random(42)));
+            server.start();
+            port = server.getPort();
+        }
+        new GameLoadClient("127.0.0.1", port, connections, tablesPerConnection, 2, seconds * 1000L).run();
+        if (server != null) {
+            System.out.println("Server: rolls served " + server.getRollsServed()
+                    + ", tables finished " + server.getTablesFinished()
+                    + ", active tables " + server.getActiveTables()
+                    + ", retained finished " + server.getRetainedFinishedTables());
+            server.stop();
+        }
+    }
+}
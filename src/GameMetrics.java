@@ -0,0 +1,160 @@
+package src;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// ---------------------------------------------------------
+// GAME METRICS
+// ---------------------------------------------------------
+// Histogram latency dan counter untuk titik-titik yang bisa bikin game patah-patah:
+// paint, callback timer animasi, playback suara, rollDice dan dispatch EDT.
+// Merekam cukup satu increment atomic per sampel (tanpa lock, tanpa alokasi).
+// Semua dipublish lewat JMX di domain "src" (jconsole / VisualVM) dan bisa
+// ditampilkan di overlay GraphPanel. -Dgame.metrics=false mematikan perekaman.
+class GameMetrics {
+    static final boolean ENABLED = !"false".equals(System.getProperty("game.metrics"));
+
+    static final LatencyHistogram PAINT = new LatencyHistogram("paint");
+    static final LatencyHistogram ANIMATION_TICK = new LatencyHistogram("animationTick");
+    static final LatencyHistogram FRAME_INTERVAL = new LatencyHistogram("frameInterval");
+    static final LatencyHistogram SOUND = new LatencyHistogram("sound");
+    static final LatencyHistogram ROLL = new LatencyHistogram("roll");
+    static final LatencyHistogram EDT_DISPATCH = new LatencyHistogram("edtDispatch");
+    static final LatencyHistogram[] ALL = {PAINT, ANIMATION_TICK, FRAME_INTERVAL, SOUND, ROLL, EDT_DISPATCH};
+
+    static final AtomicLong edtStalls = new AtomicLong();
+
+    private static boolean registered;
+
+    public interface LatencyMXBean {
+        long getCount();
+        double getMeanMicros();
+        double getP50Micros();
+        double getP99Micros();
+        double getMaxMicros();
+        void reset();
+    }
+
+    public interface CountersMXBean {
+        long getEdtStalls();
+        long getSoundsPlayed();
+        long getSoundsDropped();
+        long getRolls();
+        long getFramesPainted();
+        void resetAll();
+    }
+
+    // Daftarkan semua histogram + counter ke platform MBeanServer; aman dipanggil berkali-kali
+    static synchronized void registerMBeans() {
+        if (registered) return;
+        registered = true;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            for (LatencyHistogram h : ALL) {
+                server.registerMBean(h, new ObjectName("src:type=Latency,name=" + h.name));
+            }
+            server.registerMBean(new Counters(), new ObjectName("src:type=Counters"));
+        } catch (Exception e) {
+            System.err.println("Error: Metrics not registered with JMX (" + e.getMessage() + ")");
+        }
+    }
+
+    private static class Counters implements CountersMXBean {
+        @Override public long getEdtStalls() { return edtStalls.get(); }
+        @Override public long getSoundsPlayed() { return SoundManager.getPlayCount(); }
+        @Override public long getSoundsDropped() { return SoundManager.getDroppedCount(); }
+        @Override public long getRolls() { return ROLL.getCount(); }
+        @Override public long getFramesPainted() { return PAINT.getCount(); }
+
+        @Override
+        public void resetAll() {
+            for (LatencyHistogram h : ALL) h.reset();
+            edtStalls.set(0);
+        }
+    }
+}
+
+// Histogram log-linear: 8 sub-bucket per pangkat dua (presisi ~12%), range
+// 1 ns sampai ~146 tahun dalam 512 slot. Nilai persentil = batas bawah bucket.
+class LatencyHistogram implements GameMetrics.LatencyMXBean {
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKETS = 64 * SUB_COUNT;
+
+    final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public void record(long nanos) {
+        if (!GameMetrics.ENABLED || nanos < 0) return;
+        buckets.incrementAndGet(bucketOf(nanos));
+        count.incrementAndGet();
+        sum.addAndGet(nanos);
+        // Baca dulu; CAS hanya jika benar-benar rekor baru
+        long m;
+        while (nanos > (m = max.get()) && !max.compareAndSet(m, nanos)) { }
+    }
+
+    // Rekam waktu sejak startNanos (hasil System.nanoTime())
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    static int bucketOf(long nanos) {
+        if (nanos < SUB_COUNT) return (int) nanos;
+        int msb = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (msb - SUB_BITS)) & (SUB_COUNT - 1);
+        return (msb - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    static long lowerBound(int bucket) {
+        if (bucket < SUB_COUNT) return bucket;
+        int msb = bucket / SUB_COUNT + SUB_BITS - 1;
+        return (long) (SUB_COUNT + bucket % SUB_COUNT) << (msb - SUB_BITS);
+    }
+
+    // Persentil (0..1) dalam nanodetik dari snapshot bucket saat ini
+    public long percentileNanos(double p) {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) total += snapshot[i] = buckets.get(i);
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(total * p));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) return Math.min(lowerBound(i), max.get());
+        }
+        return max.get();
+    }
+
+    public long getMaxNanos() { return max.get(); }
+
+    @Override public long getCount() { return count.get(); }
+    @Override public double getP50Micros() { return percentileNanos(0.50) / 1e3; }
+    @Override public double getP99Micros() { return percentileNanos(0.99) / 1e3; }
+    @Override public double getMaxMicros() { return max.get() / 1e3; }
+
+    @Override
+    public double getMeanMicros() {
+        long n = count.get();
+        return n == 0 ? 0 : sum.get() / 1e3 / n;
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) buckets.set(i, 0);
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+}
@@ -0,0 +1,59 @@
+package src;
+
+import java.nio.ByteBuffer;
+
+// ---------------------------------------------------------
+// GAME PROTOCOL
+// ---------------------------------------------------------
+// Protocol biner ringkas (big-endian) antara GameServer dan client.
+//
+// Request, selalu 6 byte:
+//   [opcode u8][arg u8][tableId i32]
+//   JOIN  : arg = jumlah pemain, tableId = -1 untuk membuat meja baru
+//   ROLL  : roll untuk pemain yang sedang giliran di tableId
+//   STATE : ambil state lengkap tableId
+//
+// Response: [length u16][opcode u8][status u8][payload...], length = panjang
+// setelah field length.
+//   JOIN  : [tableId i32][players u8]
+//   ROLL  : [player u8][dice u8][forward u8][position u16][score i32][winner u8]
+//   STATE : [players u8][current u8][winner u8][lastDice u8]
+//           lalu per pemain [position u16][score i32][rolls u16][shortcut u8]
+// Status: NO_TABLE = id tidak dikenal atau meja sudah dilepas (koneksi pembuat
+// tutup / grace period meja selesai lewat); GAME_OVER = ROLL di meja yang sudah
+// ada pemenang (STATE tetap mengembalikan state akhir).
+class GameProtocol {
+    static final int REQUEST_SIZE = 6;
+
+    static final byte OP_JOIN = 1;
+    static final byte OP_ROLL = 2;
+    static final byte OP_STATE = 3;
+
+    static final byte STATUS_OK = 0;
+    static final byte STATUS_NO_TABLE = 1;
+    static final byte STATUS_GAME_OVER = 2;
+    static final byte STATUS_BAD_REQUEST = 3;
+
+    static final int NO_WINNER = 0xFF;
+    static final int MAX_PLAYERS = 6;
+
+    static void writeRequest(ByteBuffer buf, byte opcode, int arg, int tableId) {
+        buf.put(opcode).put((byte) arg).putInt(tableId);
+    }
+
+    // Mulai response; panggil endResponse setelah payload ditulis
+    static int beginResponse(ByteBuffer buf, byte opcode, byte status) {
+        int start = buf.position();
+        buf.putShort((short) 0).put(opcode).put(status);
+        return start;
+    }
+
+    static void endResponse(ByteBuffer buf, int start) {
+        buf.putShort(start, (short) (buf.position() - start - 2));
+    }
+
+    // Ukuran response terbesar (STATE dengan MAX_PLAYERS)
+    static int maxResponseSize() {
+        return 2 + 2 + 4 + MAX_PLAYERS * 9;
+    }
+}
@@ -0,0 +1,339 @@
+package src;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ---------------------------------------------------------
+// GAME SERVER
+// ---------------------------------------------------------
+// Banyak meja GameManager independen dalam satu JVM, dilayani lewat TCP
+// localhost dengan NIO selector: satu thread accept dan satu selector per core.
+// Setiap meja dikunci sendiri, jadi koneksi di worker berbeda aman memakai meja yang sama.
+// Meja dimiliki koneksi yang membuatnya dan dilepas saat koneksi itu tutup. Meja
+// yang sudah ada pemenang tetap bisa dibaca (ROLL -> GAME_OVER, STATE -> state
+// akhir) selama finishedGraceMillis, lalu dilepas saat meja baru dibuat.
+class GameServer {
+    static final long DEFAULT_FINISHED_GRACE_MILLIS = 30_000;
+
+    private final int port;
+    private final int workerCount;
+    private final Graph graph;
+    private final List<Ladder> ladders;
+    private final Map<Integer, GameTable> tables = new ConcurrentHashMap<>();
+    private final AtomicInteger nextTableId = new AtomicInteger();
+    private final AtomicLong rollsServed = new AtomicLong();
+    private final AtomicLong tablesFinished = new AtomicLong();
+    // Meja selesai urut waktu selesai, untuk dilepas setelah grace period
+    private final Queue<GameTable> finishedTables = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger finishedRetained = new AtomicInteger();
+    private volatile long finishedGraceNanos = DEFAULT_FINISHED_GRACE_MILLIS * 1_000_000L;
+    private ServerSocketChannel serverChannel;
+    private Worker[] workers;
+    private volatile boolean running;
+
+    public GameServer(int port, int workerCount, Graph graph, List<Ladder> ladders) {
+        this.port = port;
+        this.workerCount = Math.max(1, workerCount);
+        this.graph = graph;
+        this.ladders = ladders;
+    }
+
+    public void start() throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress("127.0.0.1", port), 1024);
+        running = true;
+
+        workers = new Worker[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = new Worker(Selector.open());
+            Thread t = new Thread(workers[i], "game-worker-" + i);
+            t.setDaemon(true);
+            t.start();
+        }
+        Thread acceptor = new Thread(this::acceptLoop, "game-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() { return serverChannel.socket().getLocalPort(); }
+
+    public void stop() throws IOException {
+        running = false;
+        serverChannel.close();
+        for (Worker w : workers) w.selector.wakeup();
+    }
+
+    public void setFinishedGraceMillis(long millis) { finishedGraceNanos = Math.max(0, millis) * 1_000_000L; }
+
+    // Meja yang belum selesai; meja selesai yang masih dalam grace period tidak dihitung
+    public int getActiveTables() { return Math.max(0, tables.size() - finishedRetained.get()); }
+    public int getRetainedFinishedTables() { return finishedRetained.get(); }
+    public long getRollsServed() { return rollsServed.get(); }
+    public long getTablesFinished() { return tablesFinished.get(); }
+
+    private void acceptLoop() {
+        int next = 0;
+        while (running) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                Worker w = workers[next++ % workers.length];
+                w.pending.add(channel);
+                w.selector.wakeup();
+            } catch (IOException e) {
+                if (running) System.err.println("Error: accept failed (" + e.getMessage() + ")");
+            }
+        }
+    }
+
+    private GameTable createTable(Connection owner, int numPlayers) {
+        expireFinished();
+        int players = Math.max(2, Math.min(GameProtocol.MAX_PLAYERS, numPlayers));
+        GameTable table = new GameTable(nextTableId.getAndIncrement(), graph, ladders, players);
+        tables.put(table.id, table);
+        owner.own(table.id, tables);
+        return table;
+    }
+
+    private void removeTable(GameTable table) {
+        if (table != null && tables.remove(table.id, table) && table.finished) finishedRetained.decrementAndGet();
+    }
+
+    // Dipanggil di dalam lock meja, tepat setelah roll yang menghasilkan pemenang
+    private void finishTable(GameTable table) {
+        table.finished = true;
+        table.finishedAt = System.nanoTime();
+        finishedRetained.incrementAndGet();
+        tablesFinished.incrementAndGet();
+        finishedTables.add(table);
+    }
+
+    // Lepas meja selesai yang grace period-nya sudah lewat (antrean urut waktu selesai)
+    private void expireFinished() {
+        long now = System.nanoTime();
+        GameTable head;
+        while ((head = finishedTables.peek()) != null && now - head.finishedAt >= finishedGraceNanos) {
+            if (finishedTables.remove(head)) removeTable(head);
+        }
+    }
+
+    // Proses satu request 6 byte dan tulis response ke out
+    private void handle(Connection conn, ByteBuffer in, ByteBuffer out) {
+        byte opcode = in.get();
+        int arg = in.get() & 0xFF;
+        int tableId = in.getInt();
+
+        if (opcode == GameProtocol.OP_JOIN) {
+            GameTable table = tableId < 0 ? createTable(conn, arg) : tables.get(tableId);
+            int start = GameProtocol.beginResponse(out, opcode,
+                    table == null ? GameProtocol.STATUS_NO_TABLE : GameProtocol.STATUS_OK);
+            if (table != null) out.putInt(table.id).put((byte) table.numPlayers);
+            GameProtocol.endResponse(out, start);
+            return;
+        }
+
+        GameTable table = tables.get(tableId);
+        if (table == null || (opcode != GameProtocol.OP_ROLL && opcode != GameProtocol.OP_STATE)) {
+            byte status = table == null ? GameProtocol.STATUS_NO_TABLE : GameProtocol.STATUS_BAD_REQUEST;
+            GameProtocol.endResponse(out, GameProtocol.beginResponse(out, opcode, status));
+            return;
+        }
+
+        synchronized (table) {
+            if (opcode == GameProtocol.OP_ROLL) {
+                GameManager gm = table.gameManager;
+                Player player = gm.getCurrentPlayer();
+                if (gm.playRoll() < 0) {
+                    GameProtocol.endResponse(out, GameProtocol.beginResponse(out, opcode, GameProtocol.STATUS_GAME_OVER));
+                    return;
+                }
+                rollsServed.incrementAndGet();
+                int winner = table.winnerSeat();
+                int start = GameProtocol.beginResponse(out, opcode, GameProtocol.STATUS_OK);
+                out.put((byte) player.seat)
+                        .put((byte) gm.getLastDiceRoll())
+                        .put((byte) (gm.wasLastMoveForward() ? 1 : 0))
+                        .putShort((short) player.position)
+                        .putInt(player.totalScore)
+                        .put((byte) winner);
+                GameProtocol.endResponse(out, start);
+                if (winner != GameProtocol.NO_WINNER) finishTable(table);
+            } else {
+                table.writeState(out);
+            }
+        }
+    }
+
+    private class Worker implements Runnable {
+        final Selector selector;
+        final Queue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+
+        Worker(Selector selector) { this.selector = selector; }
+
+        @Override
+        public void run() {
+            while (running) {
+                try {
+                    selector.select();
+                    SocketChannel channel;
+                    while ((channel = pending.poll()) != null) {
+                        channel.register(selector, SelectionKey.OP_READ, new Connection());
+                    }
+                    Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                    while (it.hasNext()) {
+                        SelectionKey key = it.next();
+                        it.remove();
+                        try {
+                            service(key);
+                        } catch (IOException e) {
+                            close(key);
+                        }
+                    }
+                } catch (IOException e) {
+                    if (running) System.err.println("Error: selector failed (" + e.getMessage() + ")");
+                }
+            }
+        }
+
+        private void service(SelectionKey key) throws IOException {
+            if (!key.isValid()) return;
+            SocketChannel channel = (SocketChannel) key.channel();
+            Connection conn = (Connection) key.attachment();
+
+            if (key.isReadable()) {
+                if (channel.read(conn.in) < 0) {
+                    close(key);
+                    return;
+                }
+            }
+            // Request pipelined diproses selama masih ada ruang di buffer output
+            boolean pendingWrite;
+            do {
+                conn.in.flip();
+                while (conn.in.remaining() >= GameProtocol.REQUEST_SIZE
+                        && conn.out.remaining() >= GameProtocol.maxResponseSize()) {
+                    handle(conn, conn.in, conn.out);
+                }
+                boolean moreRequests = conn.in.remaining() >= GameProtocol.REQUEST_SIZE;
+                conn.in.compact();
+
+                conn.out.flip();
+                channel.write(conn.out);
+                pendingWrite = conn.out.hasRemaining();
+                conn.out.compact();
+                if (!moreRequests) break;
+            } while (!pendingWrite);
+            key.interestOps(pendingWrite ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        }
+
+        private void close(SelectionKey key) {
+            // Meja milik koneksi ini ikut dilepas, selesai atau belum
+            Connection conn = (Connection) key.attachment();
+            if (conn != null) {
+                for (int i = 0; i < conn.owned.size(); i++) removeTable(tables.get(conn.owned.get(i)));
+                conn.owned.clear();
+            }
+            key.cancel();
+            try {
+                key.channel().close();
+            } catch (IOException ignored) {}
+        }
+    }
+
+    private static class Connection {
+        final ByteBuffer in = ByteBuffer.allocateDirect(GameProtocol.REQUEST_SIZE * 256);
+        final ByteBuffer out = ByteBuffer.allocateDirect(64 * 1024);
+        // Id meja yang dibuat koneksi ini (hanya diakses worker pemilik koneksi)
+        IntStack owned = new IntStack();
+        private int pruneAt = 64;
+
+        // Id meja yang sudah dilepas (expired) dibuang sesekali supaya daftar tidak tumbuh terus
+        void own(int tableId, Map<Integer, GameTable> tables) {
+            if (owned.size() >= pruneAt) {
+                IntStack live = new IntStack(owned.size());
+                for (int i = 0; i < owned.size(); i++) {
+                    if (tables.containsKey(owned.get(i))) live.push(owned.get(i));
+                }
+                owned = live;
+                pruneAt = Math.max(64, owned.size() * 2);
+            }
+            owned.push(tableId);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7070;
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+
+        Graph graph = GraphVisualizer.createGraph(64);
+        List<Ladder> ladders = GraphVisualizer.createLadders(new Random(seed));
+        GameServer server = new GameServer(port, workers, graph, ladders);
+        server.start();
+        System.out.println("Game server listening on 127.0.0.1:" + server.getPort() + " with " + workers + " workers");
+        while (true) {
+            Thread.sleep(5000);
+            System.out.println("Active tables: " + server.getActiveTables()
+                    + ", finished: " + server.getTablesFinished()
+                    + " (" + server.getRetainedFinishedTables() + " retained)"
+                    + ", rolls served: " + server.getRollsServed());
+        }
+    }
+}
+
+class GameTable {
+    final int id;
+    final int numPlayers;
+    final GameManager gameManager;
+    final ScoreManager scoreManager;
+    // Diubah di dalam lock meja (finishTable)
+    volatile boolean finished;
+    volatile long finishedAt;
+
+    GameTable(int id, Graph graph, List<Ladder> ladders, int numPlayers) {
+        this.id = id;
+        this.numPlayers = numPlayers;
+        this.scoreManager = new ScoreManager(graph.size, new Random());
+        this.gameManager = new GameManager(scoreManager);
+        gameManager.setGraph(graph);
+        gameManager.setLadders(ladders);
+        gameManager.resetGame(numPlayers);
+        scoreManager.resetScores(gameManager.getAllPlayers());
+    }
+
+    int winnerSeat() {
+        Player winner = gameManager.getWinner();
+        return winner == null ? GameProtocol.NO_WINNER : winner.seat;
+    }
+
+    void writeState(ByteBuffer out) {
+        List<Player> players = gameManager.getAllPlayers();
+        int start = GameProtocol.beginResponse(out, GameProtocol.OP_STATE, GameProtocol.STATUS_OK);
+        out.put((byte) players.size())
+                .put((byte) gameManager.getCurrentPlayer().seat)
+                .put((byte) winnerSeat())
+                .put((byte) gameManager.getLastDiceRoll());
+        for (Player p : players) {
+            out.putShort((short) p.position)
+                    .putInt(p.totalScore)
+                    .putShort((short) p.rollCount)
+                    .put((byte) (p.isShortestPathActive ? 1 : 0));
+        }
+        GameProtocol.endResponse(out, start);
+    }
+}
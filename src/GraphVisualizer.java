@@ -1,17 +1,17 @@
 package src;
 
-import javax.imageio.ImageIO;
-import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.Clip;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.Line2D;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public class GraphVisualizer extends JFrame {
     private GraphPanel graphPanel;
@@ -19,51 +19,114 @@ public class GraphVisualizer extends JFrame {
     private GameManager gameManager;
     private List<Ladder> ladders;
     private ScoreManager scoreManager;
+    private NodeHeatmap heatmap;
+    private boolean heatmapSimulated;
 
     public GraphVisualizer() {
+        this(null);
+    }
+
+    // stats != null: jumlah menang, riwayat skor dan hasil papan disimpan permanen
+    public GraphVisualizer(StatsStore stats) {
         setTitle("Snake & Ladder: Final Node Scoring");
         setSize(1100, 825);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLayout(new BorderLayout());
 
-        // Setup Graph 8x8
-        String[] labels = new String[64];
-        for (int i = 0; i < 64; i++) {
-            labels[i] = String.valueOf(i + 1);
+        // Papan N x N, default 8 x 8; -Dgame.boardSize=100 untuk papan 100 x 100
+        int boardSize = Math.max(2, Integer.getInteger("game.boardSize", 8));
+        int nodeCount = boardSize * boardSize;
+        graph = createGraph(nodeCount);
+        // Ladder dan node score dari satu seed (sama dengan papan SimulationEngine
+        // untuk seed itu): -Dgame.seed=<n>, selain itu seed tersimpan di StatsStore
+        // supaya boardId stabil antar restart; tanpa keduanya papan acak setiap start
+        long seed = Long.getLong("game.seed", stats != null ? stats.getBoardSeed() : new Random().nextLong());
+        ladders = createLadders(new Random(seed), nodeCount);
+
+        scoreManager = new ScoreManager(nodeCount, new Random(seed));
+        if (stats != null) {
+            scoreManager.setStatsStore(stats, StatsStore.boardId(nodeCount, ladders, scoreManager.copyNodeScores()));
         }
-
-        graph = new Graph(64, labels);
-        for (int i = 0; i < 63; i++) {
-            graph.addEdge(i, i + 1, 1);
-        }
-
-        // Setup Ladders
-        ladders = new ArrayList<>();
-        ladders.add(new Ladder(2, 21));
-        ladders.add(new Ladder(6, 29));
-        ladders.add(new Ladder(14, 55));
-        ladders.add(new Ladder(35, 48));
-
-
-        Random rand = new Random();
-        int rStart = rand.nextInt(50);
-        int rEnd = rStart + rand.nextInt(15) + 3;
-        if (rEnd > 63) rEnd = 63;
-        ladders.add(new Ladder(rStart, rEnd));
-
-        scoreManager = new ScoreManager();
         gameManager = new GameManager(scoreManager);
         gameManager.setGraph(graph);
         gameManager.setLadders(ladders);
+        gameManager.setShortcutMode(ShortcutMode.fromProperty());
+        gameManager.setRollLatency(GameMetrics.ROLL);
+        // -Dgame.dice="3 -2 6" memutar urutan roll tetap (negatif = mundur), untuk reproduksi bug
+        String diceScript = System.getProperty("game.dice");
+        if (diceScript != null) gameManager.setDiceSource(ScriptedDice.parse(diceScript, true));
+        enableEventLog();
 
         graphPanel = new GraphPanel(graph, gameManager, ladders, scoreManager);
         getContentPane().add(graphPanel, BorderLayout.CENTER);
+        heatmap = new NodeHeatmap(nodeCount);
+        gameManager.addListener(heatmap.newStripe());
+        graphPanel.setHeatmap(heatmap);
 
         JPanel controlPanel = createControlPanel();
         getContentPane().add(controlPanel, BorderLayout.SOUTH);
 
         setLocationRelativeTo(null);
         setVisible(true);
+        AssetLoader.shared().whenAllLoaded();
+    }
+
+    // -Dgame.log=<file> mencatat semua event game untuk replay (lihat EventReplay)
+    private void enableEventLog() {
+        String path = System.getProperty("game.log");
+        if (path == null) return;
+        try {
+            EventLog eventLog = new EventLog(java.nio.file.Path.of(path));
+            gameManager.setEventLog(eventLog);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    eventLog.close();
+                } catch (java.io.IOException ignored) {}
+            }));
+        } catch (java.io.IOException e) {
+            System.err.println("Error: Event log " + path + " cannot be opened (" + e.getMessage() + ")");
+        }
+    }
+
+    // Setup Graph N x N (dipakai juga oleh SimulationEngine)
+    static Graph createGraph(int nodeCount) {
+        String[] labels = new String[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            labels[i] = String.valueOf(i + 1);
+        }
+
+        Graph graph = new Graph(nodeCount, labels);
+        for (int i = 0; i < nodeCount - 1; i++) {
+            graph.addEdge(i, i + 1, 1);
+        }
+        graph.trimToSize();
+        return graph;
+    }
+
+    // Setup Ladders
+    static List<Ladder> createLadders(Random rand) {
+        return createLadders(rand, 64);
+    }
+
+    // Ladder tetap papan 8x8 diskalakan ke ukuran papan, ditambah satu ladder acak
+    // per 64 node (panjang sebanding sisi papan). Untuk 64 node hasilnya sama persis.
+    static List<Ladder> createLadders(Random rand, int nodeCount) {
+        int goal = nodeCount - 1;
+        int side = (int) Math.ceil(Math.sqrt(nodeCount));
+        List<Ladder> ladders = new ArrayList<>();
+        int[][] fixed = {{2, 21}, {6, 29}, {14, 55}, {35, 48}};
+        for (int[] l : fixed) ladders.add(new Ladder(l[0] * goal / 63, l[1] * goal / 63));
+
+        int randomLadders = Math.max(1, nodeCount / 64);
+        int startRange = Math.max(1, nodeCount * 50 / 64);
+        int spanRange = Math.max(1, 15 * side / 8);
+        for (int i = 0; i < randomLadders; i++) {
+            int rStart = rand.nextInt(startRange);
+            int rEnd = rStart + rand.nextInt(spanRange) + 3;
+            if (rEnd > goal) rEnd = goal;
+            ladders.add(new Ladder(rStart, rEnd));
+        }
+        return ladders;
     }
 
     private JPanel createControlPanel() {
@@ -106,14 +169,74 @@ public class GraphVisualizer extends JFrame {
         });
         panel.add(rollDiceButton);
 
+        JComboBox<Object> heatmapBox = new JComboBox<>();
+        heatmapBox.addItem("Heatmap off");
+        for (NodeHeatmap.Kind kind : NodeHeatmap.Kind.values()) heatmapBox.addItem(kind);
+        heatmapBox.addActionListener(e -> {
+            Object selected = heatmapBox.getSelectedItem();
+            NodeHeatmap.Kind kind = selected instanceof NodeHeatmap.Kind ? (NodeHeatmap.Kind) selected : null;
+            if (kind != null) simulateHeatmap((Integer) playerSpinner.getValue());
+            graphPanel.setHeatmapKind(kind);
+        });
+        panel.add(heatmapBox);
+
+        JCheckBox metricsBox = new JCheckBox("Metrics");
+        metricsBox.setOpaque(false);
+        metricsBox.addActionListener(e -> graphPanel.setMetricsOverlay(metricsBox.isSelected()));
+        panel.add(metricsBox);
+
         return panel;
     }
 
+    // Heatmap dari satu sesi GUI terlalu sedikit datanya; saat pertama dibuka,
+    // papan yang sama disimulasikan di background (-Dgame.heatmapGames, 0 = mati)
+    private void simulateHeatmap(int players) {
+        int games = Integer.getInteger("game.heatmapGames", 20_000);
+        if (heatmapSimulated || games <= 0) return;
+        heatmapSimulated = true;
+        SimulationEngine engine = new SimulationEngine(graph, new ArrayList<>(ladders), players,
+                Math.max(1, Runtime.getRuntime().availableProcessors() - 1), System.nanoTime());
+        engine.setNodeScores(scoreManager.copyNodeScores());
+        engine.setShortcutMode(gameManager.getShortcutMode());
+        engine.setHeatmap(heatmap);
+        CompletableFuture.runAsync(() -> {
+            try {
+                engine.run(games);
+            } catch (Exception e) {
+                System.err.println("Error: Heatmap simulation failed (" + e.getMessage() + ")");
+            }
+        });
+    }
+
     public static void main(String[] args) {
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
         } catch (Exception ignored) {}
-        SwingUtilities.invokeLater(GraphVisualizer::new);
+        SoundManager.preload();
+        GameMetrics.registerMBeans();
+        EdtWatchdog.start();
+        StatsStore stats = openStatsStore();
+        SwingUtilities.invokeLater(() -> new GraphVisualizer(stats));
+    }
+
+    // -Dgame.stats=<dir> menyimpan statistik antar restart; dibuka (recovery) sebelum EDT dimulai
+    private static StatsStore openStatsStore() {
+        String dir = System.getProperty("game.stats");
+        if (dir == null) return null;
+        try {
+            StatsStore stats = StatsStore.open(java.nio.file.Path.of(dir));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    stats.close();
+                } catch (java.io.IOException e) {
+                    System.err.println("Error: Stats cannot be saved (" + e.getMessage() + ")");
+                }
+            }));
+            return stats;
+        } catch (java.io.IOException e) {
+            System.err.println("Error: Stats store " + dir + " cannot be opened (" + e.getMessage() + ")");
+            return null;
+        }
     }
 }
 
@@ -126,25 +249,63 @@ class GraphPanel extends JPanel {
     private List<Ladder> ladders;
     private ScoreManager scoreManager;
     private Point[] nodePositions;
-    private javax.swing.Timer playerMoveTimer;
+    private AnimationEngine animation;
+
+    // Papan N x N dalam koordinat dunia; yang terlihat ditentukan viewport (zoom/pan)
+    private final int gridSize;
+    private final int worldSize;
+    private final Viewport viewport;
+    private SpatialIndex ladderIndex;
+    private boolean[] ladderNode;
+    private final IntList visibleLadders = new IntList();
+    private final Rectangle visibleWorld = new Rectangle();
+    private int layerVersion;
 
     // Assets Gambar
     private BufferedImage boardImage;
-    private BufferedImage holeImage;
-    private BufferedImage pawnImage;
 
-    // Cache untuk menyimpan outline yang sudah digenerate agar game tidak lag
-    private Map<Color, BufferedImage> outlineCache = new HashMap<>();
-
-    // Ukuran Board
+    // Pion + outline per warna yang sudah jadi (lihat SpriteAtlas)
+    private SpriteAtlas spriteAtlas;
+
+    // Layer statis (board, ladder, node, label) dirender sekali, bukan setiap frame
+    private BufferedImage staticLayer;
+    // Selesai setelah board image dan sprite atlas terpasang (atau gagal dimuat)
+    private final CompletableFuture<Void> assetsReady;
+
+    // Glyph cache terpisah untuk layer statis dan HUD (FontRenderContext bisa beda)
+    private final TextCache boardText = new TextCache();
+    private final TextCache hudText = new TextCache();
+
+    // Overlay metrics di side panel; angka di-snapshot timer, bukan dihitung setiap paint
+    private boolean metricsOverlay;
+    private javax.swing.Timer metricsTimer;
+    private final int[][] metricsSnapshot = new int[GameMetrics.ALL.length][3];
+    private static final int METRICS_Y = 595;
+
+    // Overlay heatmap digambar di layer statis (tanpa biaya per frame); timer
+    // mengambil snapshot baru dan merender ulang layer hanya jika angkanya berubah
+    private NodeHeatmap heatmap;
+    private NodeHeatmap.Kind heatmapKind;
+    private NodeHeatmap.Snapshot heatmapSnapshot;
+    private javax.swing.Timer heatmapTimer;
+    private static final int HEATMAP_LEGEND_Y = 212;
+
+    // Ukuran Board: area papan di layar, dan ukuran sel di koordinat dunia
+    // (papan 8x8 pas di area ini pada zoom 1, seperti sebelumnya)
     private static final int BOARD_SIZE = 720;
-    private static final int GRID_SIZE = 8;
-    private static final int CELL_SIZE = BOARD_SIZE / GRID_SIZE;
+    static final int CELL_SIZE = BOARD_SIZE / 8;
     private static final int OFFSET_X = 30;
     private static final int OFFSET_Y = 20;
+    // Gambar board berisi 8x8 sel; papan lebih besar memakai tile gambar yang sama
+    private static final int BOARD_TILE = CELL_SIZE * 8;
+    // Di bawah zoom ini label dan skor node tidak digambar (terlalu kecil dibaca)
+    private static final double LABEL_MIN_SCALE = 0.45;
+    // Di bawah ukuran sel ini (pixel layar) node tidak digambar sama sekali
+    private static final double NODE_MIN_CELL_PIXELS = 6;
 
     // Radius Visual
     private static final int NODE_RADIUS = 22;
+    private static final int HOLE_SIZE = NODE_RADIUS * 2 + 15;
 
     // UKURAN PION (Ubah di sini jika ingin membesarkan/mengecilkan)
     private static final int PAWN_WIDTH = 80;
@@ -152,133 +313,390 @@ class GraphPanel extends JPanel {
     // Ketebalan Outline
     private static final int OUTLINE_THICKNESS = 2;
 
+    // Warna & stroke dipakai ulang, bukan dibuat setiap paint
+    private static final Color STAR_COLOR = new Color(255, 215, 0, 150);
+    private static final Color NODE_COLOR = new Color(255, 255, 255, 40);
+    private static final Color LABEL_SHADOW = new Color(0, 0, 0, 200);
+    private static final Color NODE_SCORE_COLOR = new Color(255, 255, 200);
+    private static final Color TEXT_DARK = new Color(50, 50, 50);
+    private static final Color SHORTCUT_ON = new Color(0, 150, 0);
+    private static final Color FORWARD_COLOR = new Color(0, 128, 0);
+    private static final Color BOARD_FALLBACK = new Color(100, 200, 100);
+    private static final Color LADDER_SHADOW = new Color(255, 255, 255, 150);
+    private static final Color LADDER_COLOR = new Color(139, 69, 19);
+    private static final BasicStroke STROKE_1 = new BasicStroke(1);
+    private static final BasicStroke STROKE_2 = new BasicStroke(2);
+    private static final BasicStroke STROKE_3 = new BasicStroke(3);
+    private static final BasicStroke LADDER_STROKE = new BasicStroke(4, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+
     public GraphPanel(Graph graph, GameManager gameManager, List<Ladder> ladders, ScoreManager scoreManager) {
         this.graph = graph;
         this.gameManager = gameManager;
         this.ladders = ladders;
         this.scoreManager = scoreManager;
-        this.nodePositions = new Point[graph.size];
+        this.gridSize = (int) Math.ceil(Math.sqrt(graph.size));
+        this.worldSize = gridSize * CELL_SIZE;
+        this.viewport = new Viewport(new Rectangle(OFFSET_X, OFFSET_Y, BOARD_SIZE, BOARD_SIZE), worldSize);
         setBackground(Color.WHITE);
 
-        // Load Images
-        try {
-            boardImage = ImageIO.read(new File("src/Gemini_Generated_Image_qnsky7qnsky7qnsk.png"));
-        } catch (IOException e) {
-            System.err.println("Error: Background image not found.");
-        }
-        try {
-            holeImage = ImageIO.read(new File("src/Untitled design.png"));
-        } catch (IOException e) {
-            System.err.println("Error: Hole image not found.");
-        }
-        try {
-            pawnImage = ImageIO.read(new File("src/Untitled design 2.png"));
-        } catch (IOException e) {
-            System.err.println("Error: Pawn image (pawn_mole.png) not found.");
-        }
+        // Asset dimuat paralel di background; sampai selesai dipakai placeholder
+        // (board hijau, pion bulat, node tanpa lubang)
+        spriteAtlas = new SpriteAtlas(null, PAWN_WIDTH, PAWN_HEIGHT, OUTLINE_THICKNESS,
+                null, HOLE_SIZE, GameManager.PLAYER_COLORS);
+        AssetLoader assets = AssetLoader.shared();
+        CompletableFuture<Void> boardInstalled = new CompletableFuture<>();
+        CompletableFuture<Void> atlasInstalled = new CompletableFuture<>();
+        assets.loadImage("Gemini_Generated_Image_qnsky7qnsky7qnsk.png").whenComplete((img, err) ->
+                SwingUtilities.invokeLater(() -> {
+                    if (img != null) {
+                        boardImage = img;
+                        invalidateBoard();
+                    }
+                    boardInstalled.complete(null);
+                }));
+        CompletableFuture<BufferedImage> hole = assets.loadImage("Untitled design.png");
+        CompletableFuture<BufferedImage> pawn = assets.loadImage("Untitled design 2.png");
+        pawn.thenCombine(hole, (pawnImage, holeImage) -> new SpriteAtlas(pawnImage, PAWN_WIDTH, PAWN_HEIGHT,
+                        OUTLINE_THICKNESS, holeImage, HOLE_SIZE, GameManager.PLAYER_COLORS))
+                .whenComplete((atlas, err) -> SwingUtilities.invokeLater(() -> {
+                    if (atlas != null) {
+                        spriteAtlas = atlas;
+                        invalidateBoard();
+                    }
+                    atlasInstalled.complete(null);
+                }));
+        assetsReady = CompletableFuture.allOf(boardInstalled, atlasInstalled);
+
+        nodePositions = layoutNodes(graph.size);
+        indexLadders();
+        animation = new AnimationEngine(gameManager, nodePositions, viewport, this, CELL_SIZE,
+                PAWN_WIDTH + 2 * OUTLINE_THICKNESS, PAWN_HEIGHT + 2 * OUTLINE_THICKNESS);
+        gameManager.addListener(new HudListener());
+
+        // Scroll = zoom di sekitar kursor, drag = pan, double-click = seluruh papan
+        java.awt.event.MouseAdapter navigation = new java.awt.event.MouseAdapter() {
+            private Point dragFrom;
+
+            @Override
+            public void mousePressed(java.awt.event.MouseEvent e) {
+                dragFrom = viewport.screen.contains(e.getPoint()) ? e.getPoint() : null;
+            }
 
-        calculateNodePositions();
-    }
+            @Override
+            public void mouseDragged(java.awt.event.MouseEvent e) {
+                if (dragFrom == null) return;
+                viewport.panBy(e.getX() - dragFrom.x, e.getY() - dragFrom.y);
+                dragFrom = e.getPoint();
+                repaint();
+            }
 
-    public void startPlayerAnimation() {
-        if (playerMoveTimer != null) playerMoveTimer.stop();
-        playerMoveTimer = new javax.swing.Timer(200, e -> {
-            boolean stillAnimating = gameManager.updateAnimation();
-            repaint();
-            if (!stillAnimating) {
-                playerMoveTimer.stop();
-                checkWinner();
+            @Override
+            public void mouseReleased(java.awt.event.MouseEvent e) {
+                dragFrom = null;
+            }
+
+            @Override
+            public void mouseClicked(java.awt.event.MouseEvent e) {
+                if (e.getClickCount() == 2 && viewport.screen.contains(e.getPoint())) {
+                    viewport.fit();
+                    repaint();
+                }
+            }
+
+            @Override
+            public void mouseWheelMoved(java.awt.event.MouseWheelEvent e) {
+                if (!viewport.screen.contains(e.getPoint())) return;
+                viewport.zoomAt(e.getX(), e.getY(), Math.pow(1.15, -e.getPreciseWheelRotation()));
+                repaint();
+            }
+        };
+        addMouseListener(navigation);
+        addMouseMotionListener(navigation);
+        addMouseWheelListener(navigation);
+
+        addComponentListener(new java.awt.event.ComponentAdapter() {
+            @Override
+            public void componentResized(java.awt.event.ComponentEvent e) {
+                invalidateBoard();
             }
         });
-        playerMoveTimer.start();
     }
 
-    // --- FITUR BARU: Membuat Silhouette/Outline mengikuti bentuk gambar ---
-    public void reset() {
-        outlineCache.clear(); // Bersihkan cache saat reset game
-        repaint();
+    public void startPlayerAnimation() {
+        animation.stop();
+        // Papan besar: geser view ke pion yang akan jalan jika sedang di luar layar
+        Point p = nodePositions[gameManager.getCurrentPlayer().position];
+        if (!viewport.isVisible(p.x, p.y, -CELL_SIZE)) viewport.centerOn(p.x, p.y);
+        animation.start();
     }
 
-    private BufferedImage createSilhouette(BufferedImage source, Color color) {
-        int w = source.getWidth();
-        int h = source.getHeight();
-        BufferedImage silhouette = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+    public AnimationEngine getAnimation() { return animation; }
+    public Viewport getViewport() { return viewport; }
+    // Untuk render offscreen (FrameExporter): tunggu ini sebelum paint pertama
+    public CompletableFuture<Void> assetsReady() { return assetsReady; }
+
+    public void setMetricsOverlay(boolean visible) {
+        metricsOverlay = visible;
+        if (metricsTimer == null) {
+            metricsTimer = new javax.swing.Timer(500, e -> {
+                snapshotMetrics();
+                repaint(OFFSET_X + BOARD_SIZE + 20, METRICS_Y - 25, getWidth(), getHeight());
+            });
+        }
+        if (visible) {
+            snapshotMetrics();
+            metricsTimer.start();
+        } else {
+            metricsTimer.stop();
+        }
+        repaint();
+    }
 
-        for (int x = 0; x < w; x++) {
-            for (int y = 0; y < h; y++) {
-                int pixel = source.getRGB(x, y);
-                // Ambil Alpha (Transparansi)
-                int alpha = (pixel >> 24) & 0xff;
+    public void setHeatmap(NodeHeatmap heatmap) {
+        this.heatmap = heatmap;
+        if (heatmapKind != null) setHeatmapKind(heatmapKind);
+    }
 
-                // Jika pixel tidak transparan (ada gambarnya), warnai dengan warna player
-                if (alpha > 10) {
-                    // Set warna pixel baru dengan alpha asli (untuk antialiasing) tapi warna player
-                    int newPixel = (alpha << 24) | (color.getRed() << 16) | (color.getGreen() << 8) | color.getBlue();
-                    silhouette.setRGB(x, y, newPixel);
+    // null = overlay mati
+    public void setHeatmapKind(NodeHeatmap.Kind kind) {
+        heatmapKind = heatmap != null ? kind : null;
+        if (heatmapTimer == null) {
+            heatmapTimer = new javax.swing.Timer(1000, e -> {
+                NodeHeatmap.Snapshot next = heatmap.snapshot();
+                if (heatmapSnapshot == null || next.total != heatmapSnapshot.total) {
+                    heatmapSnapshot = next;
+                    invalidateBoard();
                 }
-            }
+            });
+        }
+        if (heatmapKind != null) {
+            heatmapSnapshot = heatmap.snapshot();
+            heatmapTimer.start();
+        } else {
+            heatmapSnapshot = null;
+            heatmapTimer.stop();
+        }
+        invalidateBoard();
+    }
+
+    private void snapshotMetrics() {
+        for (int i = 0; i < GameMetrics.ALL.length; i++) {
+            LatencyHistogram h = GameMetrics.ALL[i];
+            metricsSnapshot[i][0] = (int) Math.min(Integer.MAX_VALUE, h.percentileNanos(0.50) / 1000);
+            metricsSnapshot[i][1] = (int) Math.min(Integer.MAX_VALUE, h.percentileNanos(0.99) / 1000);
+            metricsSnapshot[i][2] = (int) Math.min(Integer.MAX_VALUE, h.getMaxNanos() / 1000);
+        }
+    }
+
+    public void reset() {
+        animation.stop();
+        invalidateBoard();
+    }
+
+    // Panggil jika ladder berubah supaya layer statis dirender ulang
+    public void setLadders(List<Ladder> ladders) {
+        this.ladders = ladders;
+        indexLadders();
+        invalidateBoard();
+    }
+
+    private void indexLadders() {
+        ladderIndex = new SpatialIndex(worldSize, CELL_SIZE * 4);
+        ladderNode = new boolean[graph.size];
+        for (int i = 0; i < ladders.size(); i++) {
+            Ladder l = ladders.get(i);
+            if (l.startIdx < 0 || l.endIdx < 0 || l.startIdx >= graph.size || l.endIdx >= graph.size) continue;
+            Point a = nodePositions[l.startIdx];
+            Point b = nodePositions[l.endIdx];
+            ladderIndex.addSegment(i, a.x, a.y, b.x, b.y);
+            ladderNode[l.startIdx] = true;
+            ladderNode[l.endIdx] = true;
         }
-        return silhouette;
     }
 
-    private void checkWinner() {
-        Player winner = gameManager.getWinner();
-        if (winner != null) {
+    public void invalidateBoard() {
+        staticLayer = null;
+        repaint();
+    }
+
+    // Side panel (status, dadu, leaderboard, metrics) saja; papan di-repaint AnimationEngine
+    private void repaintHud() {
+        repaint(OFFSET_X + BOARD_SIZE + 20, 0, getWidth(), getHeight());
+    }
+
+    // HUD hanya di-repaint saat state yang ditampilkan berubah (event GameManager di EDT)
+    private class HudListener implements GameListener {
+        @Override public void gameStarted(GameManager game) { repaint(); }
+        @Override public void rolled(int seat, int dice, boolean forward) { repaintHud(); }
+        @Override public void scored(int seat, int node, int points) { repaintHud(); }
+        @Override public void shortcutUnlocked(int seat) { repaintHud(); }
+        @Override public void turnChanged(int seat, int nextSeat) { repaintHud(); }
+
+        @Override
+        public void won(int seat) {
+            Player winner = gameManager.getAllPlayers().get(seat);
             scoreManager.recordWin(winner);
+            // Render offscreen (FrameExporter, PaintBenchmark) tanpa suara dan dialog
+            if (!isShowing()) return;
             SoundManager.playWinSound();
             SwingUtilities.invokeLater(() -> {
                 String message = winner.name + " wins!\n" +
                         "Final Score: " + winner.totalScore + "\n" +
-                        "Session Wins: " + scoreManager.getWinCount(winner.name);
+                        "Session Wins: " + scoreManager.getSessionWinCount(winner.name);
+                if (scoreManager.getStatsStore() != null) {
+                    message += "\nAll-time Wins: " + scoreManager.getWinCount(winner.name);
+                }
                 JOptionPane.showMessageDialog(GraphPanel.this, message,
                         "Game Over", JOptionPane.INFORMATION_MESSAGE);
             });
         }
     }
 
-    private void calculateNodePositions() {
-        for (int i = 0; i < 64; i++) {
-            int row = i / GRID_SIZE;
-            int col = i % GRID_SIZE;
-            int y = (OFFSET_Y + BOARD_SIZE) - (row * CELL_SIZE) - (CELL_SIZE / 2);
+    // Posisi node di koordinat dunia (zig-zag dari kiri bawah)
+    static Point[] layoutNodes(int nodeCount) {
+        int gridSize = (int) Math.ceil(Math.sqrt(nodeCount));
+        int worldSize = gridSize * CELL_SIZE;
+        Point[] nodePositions = new Point[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            int row = i / gridSize;
+            int col = i % gridSize;
+            int y = worldSize - (row * CELL_SIZE) - (CELL_SIZE / 2);
             int x;
-            if (row % 2 == 0) x = OFFSET_X + (col * CELL_SIZE) + (CELL_SIZE / 2);
-            else x = OFFSET_X + ((GRID_SIZE - 1 - col) * CELL_SIZE) + (CELL_SIZE / 2);
+            if (row % 2 == 0) x = (col * CELL_SIZE) + (CELL_SIZE / 2);
+            else x = ((gridSize - 1 - col) * CELL_SIZE) + (CELL_SIZE / 2);
             nodePositions[i] = new Point(x, y);
         }
+        return nodePositions;
+    }
+
+    // Kebalikan calculateNodePositions: node di sel (row, col), -1 jika tidak ada
+    private int nodeAt(int row, int col) {
+        int idx = row * gridSize + (row % 2 == 0 ? col : gridSize - 1 - col);
+        return idx < graph.size ? idx : -1;
     }
 
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+        long paintStart = System.nanoTime();
+        int w = getWidth();
+        int h = getHeight();
+        if (w <= 0 || h <= 0) return;
+        if (staticLayer == null || staticLayer.getWidth() != w || staticLayer.getHeight() != h
+                || layerVersion != viewport.getVersion()) {
+            staticLayer = renderStaticLayer(w, h);
+            layerVersion = viewport.getVersion();
+        }
+
         Graphics2D g2 = (Graphics2D) g;
+        g2.drawImage(staticLayer, 0, 0, null);
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
 
-        if (boardImage != null) {
-            g2.drawImage(boardImage, OFFSET_X, OFFSET_Y, BOARD_SIZE, BOARD_SIZE, null);
-        } else {
-            g2.setColor(new Color(100, 200, 100));
-            g2.fillRect(OFFSET_X, OFFSET_Y, BOARD_SIZE, BOARD_SIZE);
-        }
-
-        drawEdges(g2);
-        drawNodes(g2);
         drawPlayers(g2);
         drawGameInfo(g2);
         drawDiceInfo(g2);
         drawScoreBoard(g2);
+        if (metricsOverlay) drawMetricsOverlay(g2);
+        GameMetrics.PAINT.recordSince(paintStart);
+    }
+
+    private BufferedImage renderStaticLayer(int w, int h) {
+        // Compatible image supaya bisa di-cache di VRAM (managed image)
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        BufferedImage layer = gc != null
+                ? gc.createCompatibleImage(w, h, Transparency.OPAQUE)
+                : new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = layer.createGraphics();
+        try {
+            g2.setColor(getBackground());
+            g2.fillRect(0, 0, w, h);
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            if (heatmapSnapshot != null) drawHeatmapLegend(g2);
+
+            // Hanya isi yang ada di region terlihat yang digambar
+            g2.clip(viewport.screen);
+            viewport.applyTo(g2);
+            viewport.visibleWorld(visibleWorld);
+            g2.clipRect(0, 0, worldSize, worldSize);
+            drawBoard(g2);
+            if (heatmapSnapshot != null) drawHeatmap(g2);
+            drawEdges(g2);
+            drawNodes(g2);
+        } finally {
+            g2.dispose();
+        }
+        return layer;
+    }
+
+    private void drawBoard(Graphics2D g2) {
+        if (boardImage == null) {
+            g2.setColor(BOARD_FALLBACK);
+            g2.fillRect(0, 0, worldSize, worldSize);
+            return;
+        }
+        // Tile dihitung dari bawah supaya papan 8x8 tetap satu gambar utuh
+        int offset = worldSize % BOARD_TILE == 0 ? 0 : BOARD_TILE - worldSize % BOARD_TILE;
+        int c0 = Math.max(0, (visibleWorld.x + offset) / BOARD_TILE);
+        int r0 = Math.max(0, (visibleWorld.y + offset) / BOARD_TILE);
+        int c1 = (Math.min(worldSize, visibleWorld.x + visibleWorld.width) + offset - 1) / BOARD_TILE;
+        int r1 = (Math.min(worldSize, visibleWorld.y + visibleWorld.height) + offset - 1) / BOARD_TILE;
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                g2.drawImage(boardImage, c * BOARD_TILE - offset, r * BOARD_TILE - offset, BOARD_TILE, BOARD_TILE, null);
+            }
+        }
+    }
+
+    // Satu kotak berwarna per sel terlihat, di bawah ladder dan node
+    private void drawHeatmap(Graphics2D g2) {
+        NodeHeatmap.Snapshot snapshot = heatmapSnapshot;
+        if (snapshot.nodeCount != graph.size || snapshot.max(heatmapKind) == 0) return;
+        int c0 = Math.max(0, visibleWorld.x / CELL_SIZE);
+        int c1 = Math.min(gridSize - 1, (visibleWorld.x + visibleWorld.width) / CELL_SIZE);
+        int r0 = Math.max(0, (worldSize - visibleWorld.y - visibleWorld.height) / CELL_SIZE);
+        int r1 = Math.min(gridSize - 1, (worldSize - visibleWorld.y) / CELL_SIZE);
+        for (int row = r0; row <= r1; row++) {
+            for (int col = c0; col <= c1; col++) {
+                int i = nodeAt(row, col);
+                if (i < 0 || snapshot.get(i, heatmapKind) == 0) continue;
+                Point p = nodePositions[i];
+                g2.setColor(NodeHeatmap.color(snapshot.intensity(i, heatmapKind)));
+                g2.fillRect(p.x - CELL_SIZE / 2, p.y - CELL_SIZE / 2, CELL_SIZE, CELL_SIZE);
+            }
+        }
+    }
+
+    // Hanya dirender ulang bersama layer statis; angka berubah terus jadi tidak lewat TextCache
+    private void drawHeatmapLegend(Graphics2D g2) {
+        int x = OFFSET_X + BOARD_SIZE + 30;
+        int y = HEATMAP_LEGEND_Y;
+        g2.setFont(TextCache.CAPTION);
+        g2.setColor(TEXT_DARK);
+        g2.drawString("Heatmap: " + heatmapKind.label + " (" + heatmapSnapshot.games + " games)", x, y);
+        y += 6;
+        int width = 150;
+        for (int i = 0; i < width; i++) {
+            g2.setColor(NodeHeatmap.color((double) i / (width - 1)));
+            g2.fillRect(x + i, y, 1, 8);
+        }
+        g2.setColor(TEXT_DARK);
+        g2.drawString("0", x, y + 20);
+        String max = String.valueOf(heatmapSnapshot.max(heatmapKind));
+        g2.drawString(max, x + width - g2.getFontMetrics().stringWidth(max), y + 20);
     }
 
     private void drawEdges(Graphics2D g2) {
-        g2.setStroke(new BasicStroke(3));
-        for (Ladder ladder : ladders) {
+        ladderIndex.query(visibleWorld, visibleLadders);
+        for (int i = 0; i < visibleLadders.size; i++) {
+            Ladder ladder = ladders.get(visibleLadders.get(i));
             Point p1 = nodePositions[ladder.startIdx];
             Point p2 = nodePositions[ladder.endIdx];
-            g2.setColor(new Color(255, 255, 255, 150));
+            g2.setStroke(STROKE_3);
+            g2.setColor(LADDER_SHADOW);
             g2.drawLine(p1.x, p1.y, p2.x, p2.y);
-            g2.setColor(new Color(139, 69, 19));
-            g2.setStroke(new BasicStroke(4, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+            g2.setColor(LADDER_COLOR);
+            g2.setStroke(LADDER_STROKE);
             g2.drawLine(p1.x, p1.y, p2.x, p2.y);
             drawArrowHead(g2, p2, p1);
         }
@@ -300,45 +718,49 @@ class GraphPanel extends JPanel {
     }
 
     private void drawNodes(Graphics2D g2) {
-        Set<Integer> ladderNodes = new HashSet<>();
-        for (Ladder l : ladders) {
-            ladderNodes.add(l.startIdx);
-            ladderNodes.add(l.endIdx);
-        }
-
-        for (int i = 0; i < graph.size; i++) {
-            Point p = nodePositions[i];
-            boolean isStar = (i + 1) % 5 == 0;
-            boolean isLadderNode = ladderNodes.contains(i);
-
-            if (isLadderNode && holeImage != null) {
-                int imgSize = NODE_RADIUS * 2 + 15;
-                g2.drawImage(holeImage, p.x - imgSize / 2, p.y - imgSize / 2, imgSize, imgSize, null);
-            } else if (isStar) {
-                g2.setColor(new Color(255, 215, 0, 150));
-                Polygon star = createStar(p.x, p.y, NODE_RADIUS - 8, NODE_RADIUS + 2);
-                g2.fillPolygon(star);
-            } else {
-                g2.setColor(new Color(255, 255, 255, 40));
-                g2.fillOval(p.x - NODE_RADIUS, p.y - NODE_RADIUS, NODE_RADIUS * 2, NODE_RADIUS * 2);
+        double scale = viewport.getScale();
+        if (CELL_SIZE * scale < NODE_MIN_CELL_PIXELS) return;
+        boolean labels = scale >= LABEL_MIN_SCALE;
+        // Sel yang terlihat (node dipetakan langsung dari row/col, tanpa scan seluruh papan)
+        int c0 = Math.max(0, visibleWorld.x / CELL_SIZE);
+        int c1 = Math.min(gridSize - 1, (visibleWorld.x + visibleWorld.width) / CELL_SIZE);
+        int r0 = Math.max(0, (worldSize - visibleWorld.y - visibleWorld.height) / CELL_SIZE);
+        int r1 = Math.min(gridSize - 1, (worldSize - visibleWorld.y) / CELL_SIZE);
+        for (int row = r0; row <= r1; row++) {
+            for (int col = c0; col <= c1; col++) {
+                int i = nodeAt(row, col);
+                if (i >= 0) drawNode(g2, i, labels);
             }
+        }
+    }
 
-            String label = graph.label[i];
-            g2.setFont(new Font("Arial", Font.BOLD, 12));
-            FontMetrics fm = g2.getFontMetrics();
-            int txtX = p.x - fm.stringWidth(label) / 2;
-            int txtY = p.y + 4;
-            g2.setColor(new Color(0, 0, 0, 200));
-            g2.drawString(label, txtX + 1, txtY + 1);
-            g2.setColor(Color.WHITE);
-            g2.drawString(label, txtX, txtY);
-
-            g2.setFont(new Font("Arial", Font.BOLD, 9));
-            g2.setColor(new Color(255, 255, 200));
-            String scoreText = "+" + scoreManager.getNodeScore(i);
-            fm = g2.getFontMetrics();
-            g2.drawString(scoreText, p.x - fm.stringWidth(scoreText) / 2, p.y + 16);
+    private void drawNode(Graphics2D g2, int i, boolean labels) {
+        Point p = nodePositions[i];
+        boolean isStar = (i + 1) % 5 == 0;
+
+        BufferedImage hole = spriteAtlas.getHole();
+        if (ladderNode[i] && hole != null) {
+            g2.drawImage(hole, p.x - HOLE_SIZE / 2, p.y - HOLE_SIZE / 2, null);
+        } else if (isStar) {
+            g2.setColor(STAR_COLOR);
+            Polygon star = createStar(p.x, p.y, NODE_RADIUS - 8, NODE_RADIUS + 2);
+            g2.fillPolygon(star);
+        } else {
+            g2.setColor(NODE_COLOR);
+            g2.fillOval(p.x - NODE_RADIUS, p.y - NODE_RADIUS, NODE_RADIUS * 2, NODE_RADIUS * 2);
         }
+        if (!labels) return;
+
+        TextEntry label = boardText.get(g2, TextCache.NODE_LABEL, graph.label[i]);
+        int txtY = p.y + 4;
+        g2.setColor(LABEL_SHADOW);
+        boardText.drawCentered(g2, label, p.x + 1, txtY + 1);
+        g2.setColor(Color.WHITE);
+        boardText.drawCentered(g2, label, p.x, txtY);
+
+        g2.setColor(NODE_SCORE_COLOR);
+        TextEntry scoreText = boardText.number(g2, TextCache.NODE_SCORE, "+", scoreManager.getNodeScore(i));
+        boardText.drawCentered(g2, scoreText, p.x, p.y + 16);
     }
 
     private Polygon createStar(int centerX, int centerY, int innerRadius, int outerRadius) {
@@ -356,71 +778,68 @@ class GraphPanel extends JPanel {
     // --- PENGGAMBARAN PLAYER DENGAN OUTLINE KONTUR ---
     private void drawPlayers(Graphics2D g2) {
         List<Player> players = gameManager.getAllPlayers();
-        Map<Integer, Integer> playersOnNode = new HashMap<>();
+        double scale = viewport.getScale();
+        Shape oldClip = g2.getClip();
+        g2.clip(viewport.screen);
 
-        for (Player player : players) {
+        for (int p = 0; p < players.size(); p++) {
+            Player player = players.get(p);
             Point nodePos = nodePositions[player.position];
-            int count = playersOnNode.getOrDefault(player.position, 0);
-            playersOnNode.put(player.position, count + 1);
+            // Urutan pemain ini di node yang sama (maksimal 6 pemain, tanpa Map per frame)
+            int count = 0;
+            for (int q = 0; q < p; q++) if (players.get(q).position == player.position) count++;
 
-            // Offset agar tidak bertumpuk
+            // Offset agar tidak bertumpuk (koordinat dunia)
             int offsetX = (count % 3) * 12 - 6;
             int offsetY = (count / 3) * 12 - 6;
             int finalX = nodePos.x + offsetX;
             int finalY = nodePos.y + offsetY;
-
-            int drawX = finalX - PAWN_WIDTH / 2;
-            int drawY = finalY - PAWN_HEIGHT / 2;
-
-            if (pawnImage != null) {
-                // 1. Cek apakah outline sudah ada di cache
-                BufferedImage outline = outlineCache.get(player.color);
-
-                // 2. Jika belum ada, buat silhouette outline
-                if (outline == null) {
-                    outline = createSilhouette(pawnImage, player.color);
-                    outlineCache.put(player.color, outline);
+            if (animation.isMoving(player)) {
+                // Posisi diinterpolasi antar node oleh AnimationEngine
+                finalX = animation.currentX() + offsetX;
+                finalY = animation.currentY() + offsetY;
+            }
+            // Pion di luar region terlihat dilewati
+            if (!viewport.isVisible(finalX, finalY, PAWN_WIDTH)) continue;
+
+            double screenX = viewport.toScreenX(finalX);
+            double screenY = viewport.toScreenY(finalY);
+            BufferedImage sprite = spriteAtlas.getPawn(player.color);
+            if (sprite != null) {
+                int t = spriteAtlas.getOutline();
+                int drawX = (int) Math.round(screenX - (PAWN_WIDTH / 2 + t) * scale);
+                int drawY = (int) Math.round(screenY - (PAWN_HEIGHT / 2 + t) * scale);
+                if (scale == 1.0) {
+                    // Pion + outline sudah jadi di ukuran akhir: satu blit tanpa scaling
+                    g2.drawImage(sprite, drawX, drawY, null);
+                } else {
+                    g2.drawImage(sprite, drawX, drawY, (int) Math.round(sprite.getWidth() * scale),
+                            (int) Math.round(sprite.getHeight() * scale), null);
                 }
-
-                // 3. Gambar Outline (Digeser ke 8 arah untuk efek stroke tebal)
-                // Ini menciptakan efek "Stroke" di sekeliling bentuk gambar
-                int t = OUTLINE_THICKNESS;
-                g2.drawImage(outline, drawX - t, drawY, PAWN_WIDTH, PAWN_HEIGHT, null);
-                g2.drawImage(outline, drawX + t, drawY, PAWN_WIDTH, PAWN_HEIGHT, null);
-                g2.drawImage(outline, drawX, drawY - t, PAWN_WIDTH, PAWN_HEIGHT, null);
-                g2.drawImage(outline, drawX, drawY + t, PAWN_WIDTH, PAWN_HEIGHT, null);
-                // Diagonal untuk mengisi sudut
-                g2.drawImage(outline, drawX - t, drawY - t, PAWN_WIDTH, PAWN_HEIGHT, null);
-                g2.drawImage(outline, drawX + t, drawY + t, PAWN_WIDTH, PAWN_HEIGHT, null);
-                g2.drawImage(outline, drawX - t, drawY + t, PAWN_WIDTH, PAWN_HEIGHT, null);
-                g2.drawImage(outline, drawX + t, drawY - t, PAWN_WIDTH, PAWN_HEIGHT, null);
-
-                // 4. Gambar Pion Asli di atas outline
-                g2.drawImage(pawnImage, drawX, drawY, PAWN_WIDTH, PAWN_HEIGHT, null);
-
             } else {
                 // Fallback (Bulat)
-                int radius = 10;
+                int radius = Math.max(2, (int) Math.round(10 * scale));
+                int cx = (int) Math.round(screenX);
+                int cy = (int) Math.round(screenY);
                 g2.setColor(player.color);
-                g2.fillOval(finalX - radius, finalY - radius, radius * 2, radius * 2);
+                g2.fillOval(cx - radius, cy - radius, radius * 2, radius * 2);
                 g2.setColor(Color.WHITE);
-                g2.setStroke(new BasicStroke(2f));
-                g2.drawOval(finalX - radius, finalY - radius, radius * 2, radius * 2);
+                g2.setStroke(STROKE_2);
+                g2.drawOval(cx - radius, cy - radius, radius * 2, radius * 2);
             }
         }
+        g2.setClip(oldClip);
     }
     // ------------------------------------------------
 
     private void drawGameInfo(Graphics2D g2) {
         int x = OFFSET_X + BOARD_SIZE + 30;
         int y = 50;
-        g2.setFont(new Font("Segoe UI", Font.BOLD, 18));
-        g2.setColor(new Color(50, 50, 50));
-        g2.drawString("Game Status", x, y);
+        g2.setColor(TEXT_DARK);
+        hudText.draw(g2, hudText.get(g2, TextCache.TITLE, "Game Status"), x, y);
         y += 30;
         Player currentPlayer = gameManager.getCurrentPlayer();
-        g2.setFont(new Font("Segoe UI", Font.PLAIN, 14));
-        g2.drawString("Current Turn:", x, y);
+        hudText.draw(g2, hudText.get(g2, TextCache.BODY, "Current Turn:"), x, y);
         y += 25;
         g2.setColor(currentPlayer.color);
         g2.fillRoundRect(x, y - 18, 120, 25, 10, 10);
@@ -428,120 +847,286 @@ class GraphPanel extends JPanel {
         if (currentPlayer.color.equals(Color.YELLOW) || currentPlayer.color.equals(Color.CYAN)) {
             g2.setColor(Color.BLACK);
         }
-        g2.setFont(new Font("Segoe UI", Font.BOLD, 13));
-        g2.drawString(currentPlayer.name, x + 10, y);
+        hudText.draw(g2, hudText.get(g2, TextCache.SMALL_BOLD, currentPlayer.name), x + 10, y);
         y += 30;
         g2.setColor(Color.BLACK);
-        g2.setFont(new Font("Segoe UI", Font.PLAIN, 13));
-        g2.drawString("Roll Count: " + currentPlayer.rollCount, x, y);
+        hudText.draw(g2, hudText.number(g2, TextCache.SMALL, "Roll Count: ", currentPlayer.rollCount), x, y);
         y += 20;
-        g2.drawString("Total Score: " + currentPlayer.totalScore, x, y);
+        hudText.draw(g2, hudText.number(g2, TextCache.SMALL, "Total Score: ", currentPlayer.totalScore), x, y);
         y += 25;
         boolean isActive = currentPlayer.isShortestPathActive;
-        g2.setFont(new Font("Segoe UI", Font.BOLD, 13));
-        g2.setColor(isActive ? new Color(0, 150, 0) : Color.RED);
-        g2.drawString(isActive ? "SHORTCUT UNLOCKED" : "LOCKED", x, y);
+        g2.setColor(isActive ? SHORTCUT_ON : Color.RED);
+        hudText.draw(g2, hudText.get(g2, TextCache.SMALL_BOLD, isActive ? "SHORTCUT UNLOCKED" : "LOCKED"), x, y);
     }
 
     private void drawDiceInfo(Graphics2D g2) {
         if (gameManager.getLastDiceRoll() == 0) return;
         int x = OFFSET_X + BOARD_SIZE + 30;
         int y = 250;
-        g2.setFont(new Font("Segoe UI", Font.BOLD, 16));
         g2.setColor(Color.BLACK);
-        g2.drawString("Last Roll:", x, y);
+        hudText.draw(g2, hudText.get(g2, TextCache.HEADING, "Last Roll:"), x, y);
         y += 25;
         g2.setColor(Color.WHITE);
         g2.fillRoundRect(x, y, 60, 60, 15, 15);
         g2.setColor(Color.BLACK);
-        g2.setStroke(new BasicStroke(2));
+        g2.setStroke(STROKE_2);
         g2.drawRoundRect(x, y, 60, 60, 15, 15);
-        g2.setFont(new Font("Segoe UI", Font.BOLD, 36));
-        String diceValue = String.valueOf(gameManager.getLastDiceRoll());
-        FontMetrics fm = g2.getFontMetrics();
-        g2.drawString(diceValue, x + 30 - fm.stringWidth(diceValue)/2, y + 43);
+        TextEntry diceValue = hudText.number(g2, TextCache.DICE, "", gameManager.getLastDiceRoll());
+        hudText.drawCentered(g2, diceValue, x + 30, y + 43);
         y += 80;
-        g2.setFont(new Font("Segoe UI", Font.PLAIN, 12));
         if (gameManager.wasLastMoveForward()) {
-            g2.setColor(new Color(0, 128, 0));
-            g2.drawString("Moving Forward >>", x, y);
+            g2.setColor(FORWARD_COLOR);
+            hudText.draw(g2, hudText.get(g2, TextCache.CAPTION, "Moving Forward >>"), x, y);
         } else {
             g2.setColor(Color.RED);
-            g2.drawString("<< Moving Backward", x, y);
+            hudText.draw(g2, hudText.get(g2, TextCache.CAPTION, "<< Moving Backward"), x, y);
         }
     }
 
     private void drawScoreBoard(Graphics2D g2) {
         int x = OFFSET_X + BOARD_SIZE + 30;
         int y = 420;
-        g2.setColor(new Color(50, 50, 50));
-        g2.setFont(new Font("Segoe UI", Font.BOLD, 16));
-        g2.drawString("Leaderboard", x, y);
+        g2.setColor(TEXT_DARK);
+        hudText.draw(g2, hudText.get(g2, TextCache.HEADING, "Leaderboard"), x, y);
         y += 10;
-        g2.setStroke(new BasicStroke(1));
+        g2.setStroke(STROKE_1);
         g2.drawLine(x, y, x + 150, y);
         y += 20;
-        g2.setFont(new Font("Segoe UI", Font.PLAIN, 13));
         List<Player> leaderboard = scoreManager.getLeaderboard(gameManager.getAllPlayers());
         for (int i = 0; i < leaderboard.size(); i++) {
             Player p = leaderboard.get(i);
             g2.setColor(p.color);
             g2.fillOval(x, y - 10, 10, 10);
             g2.setColor(Color.BLACK);
-            g2.drawString((i + 1) + ". " + p.name + " (" + p.totalScore + ")", x + 15, y);
+            // "1. Player 1 (42)" digambar per bagian supaya tidak ada String baru per frame
+            float tx = x + 15;
+            TextEntry part = hudText.number(g2, TextCache.SMALL, "", i + 1);
+            hudText.draw(g2, part, tx, y);
+            tx += part.width;
+            part = hudText.get(g2, TextCache.SMALL, ". ");
+            hudText.draw(g2, part, tx, y);
+            tx += part.width;
+            part = hudText.get(g2, TextCache.SMALL, p.name);
+            hudText.draw(g2, part, tx, y);
+            tx += part.width;
+            part = hudText.number(g2, TextCache.SMALL, " (", p.totalScore);
+            hudText.draw(g2, part, tx, y);
+            tx += part.width;
+            hudText.draw(g2, hudText.get(g2, TextCache.SMALL, ")"), tx, y);
             y += 20;
         }
     }
+
+    private void drawMetricsOverlay(Graphics2D g2) {
+        int x = OFFSET_X + BOARD_SIZE + 30;
+        int y = METRICS_Y;
+        g2.setColor(TEXT_DARK);
+        hudText.draw(g2, hudText.get(g2, TextCache.HEADING, "Metrics (us)"), x, y);
+        y += 18;
+        hudText.draw(g2, hudText.get(g2, TextCache.CAPTION, "p50"), x + 95, y);
+        hudText.draw(g2, hudText.get(g2, TextCache.CAPTION, "p99"), x + 150, y);
+        hudText.draw(g2, hudText.get(g2, TextCache.CAPTION, "max"), x + 205, y);
+        y += 16;
+        g2.setColor(Color.BLACK);
+        for (int i = 0; i < GameMetrics.ALL.length; i++) {
+            int[] row = metricsSnapshot[i];
+            hudText.draw(g2, hudText.get(g2, TextCache.CAPTION, GameMetrics.ALL[i].name), x, y);
+            hudText.draw(g2, hudText.number(g2, TextCache.CAPTION, "", row[0]), x + 95, y);
+            hudText.draw(g2, hudText.number(g2, TextCache.CAPTION, "", row[1]), x + 150, y);
+            hudText.draw(g2, hudText.number(g2, TextCache.CAPTION, "", row[2]), x + 205, y);
+            y += 16;
+        }
+        hudText.draw(g2, hudText.number(g2, TextCache.CAPTION, "EDT stalls: ",
+                (int) GameMetrics.edtStalls.get()), x, y);
+    }
 }
 
 // ---------------------------------------------------------
 // SUPPORT CLASSES
 // ---------------------------------------------------------
+// Audio di-decode sekali di startup; playback lewat satu thread audio dan pool Clip
+// yang dipakai ulang (beberapa Clip per suara supaya bisa overlap).
 class SoundManager {
-    public static void playDiceSound() { playSound("dice.wav"); }
-    public static void playWinSound() { playSound("win.wav"); }
-    private static void playSound(String filename) {
-        new Thread(() -> {
+    enum Sound {
+        DICE("dice.wav"), WIN("win.wav");
+        final String filename;
+        Sound(String filename) { this.filename = filename; }
+    }
+
+    private static final int CLIPS_PER_SOUND = 3;
+    private static final AtomicReferenceArray<Clip[]> clipPool = new AtomicReferenceArray<>(Sound.values().length);
+    private static final int[] nextClip = new int[Sound.values().length];
+    // Setiap request membawa waktunya sendiri (request beruntun tidak saling menimpa)
+    private static final ArrayBlockingQueue<Request> requests = new ArrayBlockingQueue<>(32);
+    private static final AtomicLong playCount = new AtomicLong();
+    private static final AtomicLong droppedCount = new AtomicLong();
+    private static Thread audioThread;
+
+    public static void playDiceSound() { playSound(Sound.DICE); }
+    public static void playWinSound() { playSound(Sound.WIN); }
+
+    // Decode semua WAV (async lewat AssetLoader) dan buka Clip; aman dipanggil berkali-kali
+    public static synchronized void preload() {
+        if (audioThread != null) return;
+        for (Sound sound : Sound.values()) {
+            AssetLoader.shared().loadSound(sound.filename).thenAccept(audio -> {
+                if (audio == null) return;
+                try {
+                    Clip[] clips = new Clip[CLIPS_PER_SOUND];
+                    for (int i = 0; i < clips.length; i++) {
+                        clips[i] = AudioSystem.getClip();
+                        clips[i].open(audio.format, audio.data, 0, audio.data.length);
+                    }
+                    clipPool.set(sound.ordinal(), clips);
+                } catch (Exception e) {
+                    System.err.println("Error: Sound " + sound.filename + " unavailable (" + e.getMessage() + ")");
+                }
+            });
+        }
+        audioThread = new Thread(SoundManager::runAudioLoop, "audio");
+        audioThread.setDaemon(true);
+        audioThread.start();
+    }
+
+    private static void playSound(Sound sound) {
+        if (audioThread == null) preload();
+        if (!requests.offer(new Request(sound, System.nanoTime()))) droppedCount.incrementAndGet();
+    }
+
+    private static void runAudioLoop() {
+        while (true) {
+            Request request;
             try {
-                File soundFile = new File("src/" + filename);
-                if (!soundFile.exists()) return;
-                AudioInputStream audioIn = AudioSystem.getAudioInputStream(soundFile);
-                Clip clip = AudioSystem.getClip();
-                clip.open(audioIn);
-                clip.start();
-            } catch (Exception ignored) {}
-        }).start();
+                request = requests.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            Sound sound = request.sound;
+            Clip[] clips = clipPool.get(sound.ordinal());
+            // Clip belum termuat (atau gagal dimuat): request tidak dimainkan
+            if (clips == null) {
+                droppedCount.incrementAndGet();
+                continue;
+            }
+            int idx = nextClip[sound.ordinal()];
+            nextClip[sound.ordinal()] = (idx + 1) % clips.length;
+            Clip clip = clips[idx];
+            clip.stop();
+            clip.setFramePosition(0);
+            clip.start();
+
+            playCount.incrementAndGet();
+            GameMetrics.SOUND.recordSince(request.requestedAt);
+        }
     }
+
+    private static final class Request {
+        final Sound sound;
+        final long requestedAt;
+
+        Request(Sound sound, long requestedAt) {
+            this.sound = sound;
+            this.requestedAt = requestedAt;
+        }
+    }
+
+    public static void shutdown() {
+        if (audioThread != null) audioThread.interrupt();
+        for (int s = 0; s < clipPool.length(); s++) {
+            Clip[] clips = clipPool.get(s);
+            if (clips == null) continue;
+            for (Clip clip : clips) clip.close();
+        }
+    }
+
+    // Latency = waktu dari request sampai clip.start() di thread audio (GameMetrics.SOUND);
+    // dropped = antrean penuh atau clip belum/tidak termuat saat request diproses
+    public static long getPlayCount() { return playCount.get(); }
+    public static long getDroppedCount() { return droppedCount.get(); }
+    public static long getMaxLatencyMicros() { return GameMetrics.SOUND.getMaxNanos() / 1000; }
+    public static long getAverageLatencyMicros() { return (long) GameMetrics.SOUND.getMeanMicros(); }
 }
 
 class ScoreManager {
     private Map<String, Integer> sessionWins;
-    private Map<Integer, Integer> nodeScores;
+    // Jika terpasang, jumlah menang dibaca dari StatsStore (bertahan antar restart)
+    private StatsStore stats;
+    private long boardId;
+    private int[] nodeScores;
     private Random random;
+    private final Leaderboard leaderboard = new Leaderboard();
     public ScoreManager() {
+        this(new Random());
+    }
+    public ScoreManager(Random random) {
+        this(64, random);
+    }
+    public ScoreManager(int nodeCount, Random random) {
         sessionWins = new HashMap<>();
-        nodeScores = new HashMap<>();
-        random = new Random();
+        nodeScores = new int[nodeCount];
+        this.random = random;
         initializeNodeScores();
     }
+    // Node score yang sudah ditentukan (replay EventLog)
+    public ScoreManager(int[] nodeScores) {
+        sessionWins = new HashMap<>();
+        this.nodeScores = nodeScores.clone();
+        this.random = new Random();
+    }
+    int getNodeCount() { return nodeScores.length; }
+    int[] copyNodeScores() { return nodeScores.clone(); }
     private void initializeNodeScores() {
-        for (int i = 0; i < 64; i++) {
-            nodeScores.put(i, random.nextInt(10) + 1);
+        for (int i = 0; i < nodeScores.length; i++) {
+            nodeScores[i] = random.nextInt(10) + 1;
         }
     }
-    public int getNodeScore(int nodeIndex) { return nodeScores.getOrDefault(nodeIndex, 1); }
+    public int getNodeScore(int nodeIndex) {
+        return nodeIndex >= 0 && nodeIndex < nodeScores.length ? nodeScores[nodeIndex] : 1;
+    }
     public void addScore(Player player, int nodeIndex) {
         int score = getNodeScore(nodeIndex);
-        player.totalScore += score;
+        leaderboard.setScore(player, player.totalScore + score);
+    }
+    // Hasil game (semua pemain di ranking, urut seat) ikut dicatat ke StatsStore; tanpa I/O di sini
+    public void recordWin(Player player) {
+        sessionWins.put(player.name, sessionWins.getOrDefault(player.name, 0) + 1);
+        if (stats == null) return;
+        List<Player> players = new ArrayList<>(leaderboard.asList());
+        players.sort(Comparator.comparingInt(p -> p.seat));
+        String[] names = new String[players.size()];
+        int[] scores = new int[players.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = players.get(i).name;
+            scores[i] = players.get(i).totalScore;
+        }
+        stats.recordGame(boardId, names, scores, players.indexOf(player), player.rollCount);
     }
-    public void recordWin(Player player) { sessionWins.put(player.name, sessionWins.getOrDefault(player.name, 0) + 1); }
-    public int getWinCount(String playerName) { return sessionWins.getOrDefault(playerName, 0); }
-    public void resetScores(List<Player> players) { for (Player p : players) p.totalScore = 0; }
+    // Total semua sesi jika StatsStore terpasang, selain itu sesi ini saja
+    public int getWinCount(String playerName) {
+        return stats != null ? stats.getWinCount(playerName) : getSessionWinCount(playerName);
+    }
+    public int getSessionWinCount(String playerName) { return sessionWins.getOrDefault(playerName, 0); }
+    public void setStatsStore(StatsStore stats, long boardId) {
+        this.stats = stats;
+        this.boardId = boardId;
+    }
+    public StatsStore getStatsStore() { return stats; }
+    public void resetScores(List<Player> players) {
+        leaderboard.clear();
+        for (Player p : players) {
+            p.totalScore = 0;
+            leaderboard.add(p);
+        }
+    }
+    // View terurut milik Leaderboard (tidak di-copy/sort setiap panggilan)
     public List<Player> getLeaderboard(List<Player> players) {
-        List<Player> sorted = new ArrayList<>(players);
-        sorted.sort((p1, p2) -> Integer.compare(p2.totalScore, p1.totalScore));
-        return sorted;
+        if (leaderboard.size() != players.size() || (!players.isEmpty() && !leaderboard.contains(players.get(0)))) {
+            leaderboard.clear();
+            for (Player p : players) leaderboard.add(p);
+        }
+        return leaderboard.asList();
     }
+    public Leaderboard getRanking() { return leaderboard; }
     public Map<String, Integer> getSessionWins() { return sessionWins; }
 }
 
@@ -555,116 +1140,229 @@ class GameManager {
     private Deque<Player> turnQueue;
     private List<Ladder> gameLadders;
     private Graph graph;
+    private TransitionTable transitions;
     private ScoreManager scoreManager;
-    private Random random;
+    private DiceSource dice;
     private int lastDiceRoll;
     private boolean lastMoveForward;
     private boolean isAnimating;
-    private static final Color[] PLAYER_COLORS = {
+    // State pemain yang sebenarnya (posisi, path, roll, skor, shortcut) per seat;
+    // Player di allPlayers adalah view yang disinkronkan untuk UI/ranking
+    private PlayerStore store;
+    private TurnRules rules;
+    private EventLog eventLog;
+    // Copy-on-write (add/remove jarang); array kosong = tanpa biaya per event
+    private volatile GameListener[] listeners = new GameListener[0];
+    private Player winner;
+    private LatencyHistogram rollLatency;
+    private int goal;
+    private ShortcutMode shortcutMode = ShortcutMode.LADDER;
+    static final Color[] PLAYER_COLORS = {
             new Color(220, 20, 60), new Color(30, 144, 255),
             new Color(50, 205, 50), new Color(255, 215, 0),
             new Color(138, 43, 226), new Color(255, 140, 0)
     };
     public GameManager(ScoreManager scoreManager) {
+        this(scoreManager, new SeededDice());
+    }
+    // Perilaku lama (nextInt + nextDouble per roll); hasil seed yang sudah ada tetap sama
+    public GameManager(ScoreManager scoreManager, Random random) {
+        this(scoreManager, new RandomDice(random));
+    }
+    public GameManager(ScoreManager scoreManager, DiceSource dice) {
         this.scoreManager = scoreManager;
         allPlayers = new ArrayList<>();
         turnQueue = new LinkedList<>();
         gameLadders = new ArrayList<>();
         initializePlayers(2);
-        random = new Random();
+        this.dice = dice;
+        rebuildTransitions();
         isAnimating = false;
     }
     private void initializePlayers(int numPlayers) {
+        winner = null;
         allPlayers.clear();
         turnQueue.clear();
+        if (store == null || store.size != numPlayers) store = new PlayerStore(numPlayers);
+        for (int i = 0; i < numPlayers; i++) store.reset(i);
         for (int i = 0; i < numPlayers; i++) {
-            allPlayers.add(new Player("Player " + (i + 1), PLAYER_COLORS[i % PLAYER_COLORS.length], 0));
+            Player player = new Player("Player " + (i + 1), PLAYER_COLORS[i % PLAYER_COLORS.length], 0);
+            player.seat = i;
+            allPlayers.add(player);
         }
         turnQueue.addAll(allPlayers);
     }
-    public void setGraph(Graph graph) { this.graph = graph; }
-    public void setLadders(List<Ladder> ladders) { this.gameLadders = ladders; }
-    private boolean isPrime(int n) {
-        if (n <= 1) return false;
-        for (int i = 2; i <= Math.sqrt(n); i++) if (n % i == 0) return false;
-        return true;
+    public void setGraph(Graph graph) {
+        this.graph = graph;
+        rebuildTransitions();
+    }
+    public void setLadders(List<Ladder> ladders) {
+        this.gameLadders = ladders;
+        rebuildTransitions();
     }
+    // Aturan shortcut; tabel jarak/next-hop dihitung ulang hanya di sini dan saat graph/ladder berubah
+    public void setShortcutMode(ShortcutMode shortcutMode) {
+        this.shortcutMode = shortcutMode;
+        rebuildTransitions();
+    }
+    // Panggil ulang jika list ladder diubah langsung setelah setLadders
+    public void rebuildTransitions() {
+        goal = (graph != null ? graph.size : scoreManager.getNodeCount()) - 1;
+        transitions = new TransitionTable(graph, gameLadders, goal, shortcutMode);
+        rules = new TurnRules(transitions);
+    }
+    public int getGoal() { return goal; }
+    public ShortcutMode getShortcutMode() { return shortcutMode; }
+    public TransitionTable getTransitions() { return transitions; }
     public int rollDice() {
+        if (getWinner() != null || isAnimating) return -1;
+        if (rollLatency == null) {
+            int packed = dice.roll();
+            return rollDice(DiceSource.value(packed), DiceSource.isForward(packed));
+        }
+        long start = System.nanoTime();
+        int packed = dice.roll();
+        int target = rollDice(DiceSource.value(packed), DiceSource.isForward(packed));
+        rollLatency.recordSince(start);
+        return target;
+    }
+    // Roll dengan nilai dadu yang sudah ditentukan (dipakai replay EventLog).
+    // Semua langkah langsung dijalankan di store lewat TurnRules; updateAnimation
+    // hanya menampilkan plannedPath satu per satu di view Player.
+    int rollDice(int diceValue, boolean forward) {
         if (getWinner() != null || isAnimating) return -1;
         Player currentPlayer = turnQueue.peek();
-        currentPlayer.rollCount++;
-        lastDiceRoll = random.nextInt(6) + 1;
-        lastMoveForward = random.nextDouble() < 0.8;
+        int p = currentPlayer.seat;
+        rules.beginRoll(store, p);
+        currentPlayer.rollCount = store.rollCount[p];
+        lastDiceRoll = diceValue;
+        lastMoveForward = forward;
+        for (GameListener l : listeners) l.rolled(currentPlayer.seat, diceValue, forward);
         currentPlayer.plannedPath.clear();
-        List<Integer> simulationStack = new ArrayList<>(currentPlayer.path);
+        int[] forwardSteps = rules.steps(store, p);
+        int pos = store.position[p];
         for (int i = 0; i < lastDiceRoll; i++) {
-            int currentPos = simulationStack.get(simulationStack.size() - 1);
-            int nextPos;
-            if (lastMoveForward) {
-                int ladderEnd = -1;
-                if (currentPlayer.isShortestPathActive) {
-                    for (Ladder l : gameLadders) {
-                        if (l.startIdx == currentPos) {
-                            ladderEnd = l.endIdx;
-                            break;
-                        }
-                    }
-                }
-                nextPos = (ladderEnd != -1) ? ladderEnd : currentPos + 1;
-                if (nextPos > 63) nextPos = 63;
-                if (nextPos != currentPos) simulationStack.add(nextPos);
-            } else {
-                if (simulationStack.size() > 1) {
-                    simulationStack.remove(simulationStack.size() - 1);
-                    nextPos = simulationStack.get(simulationStack.size() - 1);
-                } else {
-                    nextPos = 0;
-                }
-            }
-            currentPlayer.plannedPath.add(nextPos);
+            pos = rules.step(store, p, pos, forwardSteps, lastMoveForward);
+            currentPlayer.plannedPath.add(pos);
         }
         isAnimating = true;
-        return simulationStack.get(simulationStack.size() - 1);
+        return pos;
     }
     public boolean updateAnimation() {
         if (!isAnimating) return false;
         Player currentPlayer = turnQueue.peek();
+        int seat = currentPlayer.seat;
         if (!currentPlayer.plannedPath.isEmpty()) {
-            int nextStep = currentPlayer.plannedPath.remove(0);
-            boolean isBacktracking = false;
-            if (currentPlayer.path.size() > 1 && nextStep == currentPlayer.path.get(currentPlayer.path.size() - 2)) {
-                isBacktracking = true;
-            }
-            if (isBacktracking) {
-                currentPlayer.path.remove(currentPlayer.path.size() - 1);
-            } else {
-                if (currentPlayer.path.isEmpty() || currentPlayer.path.get(currentPlayer.path.size() - 1) != nextStep) {
-                    currentPlayer.path.add(nextStep);
+            int nextStep = currentPlayer.plannedPath.poll();
+            int from = currentPlayer.position;
+            currentPlayer.position = nextStep;
+            if (rules.isGoal(nextStep) && winner == null) winner = currentPlayer;
+            GameListener[] ls = listeners;
+            if (ls.length > 0) {
+                boolean ladder = rules.isLadder(from, nextStep, lastMoveForward, currentPlayer.isShortestPathActive);
+                for (GameListener l : ls) {
+                    l.stepped(seat, from, nextStep);
+                    if (ladder) l.ladderTaken(seat, from, nextStep);
                 }
             }
-            currentPlayer.position = nextStep;
             return true;
         }
-        scoreManager.addScore(currentPlayer, currentPlayer.position);
-        boolean isPrimeSpot = isPrime(currentPlayer.position + 1);
-        if (isPrimeSpot && currentPlayer.rollCount >= 2 && !currentPlayer.isShortestPathActive) {
+        int position = currentPlayer.position;
+        int points = scoreManager.getNodeScore(position);
+        scoreManager.addScore(currentPlayer, position);
+        for (GameListener l : listeners) l.scored(seat, position, points);
+        if (rules.finishTurn(store, seat, points) == TurnRules.UNLOCKED_NOW) {
             currentPlayer.isShortestPathActive = true;
+            for (GameListener l : listeners) l.shortcutUnlocked(seat);
+        }
+        if (rules.isGoal(position)) {
+            for (GameListener l : listeners) l.won(seat);
         }
         isAnimating = false;
-        if ((currentPlayer.position + 1) % 5 != 0 || currentPlayer.position == 63) {
+        if (!rules.keepsTurn(position)) {
             turnQueue.offer(turnQueue.poll());
         }
+        for (GameListener l : listeners) l.turnChanged(seat, turnQueue.peek().seat);
         return false;
     }
-    public Player getWinner() {
-        for (Player p : allPlayers) if (p.position == 63) return p;
-        return null;
+    // Headless: roll lalu jalankan semua langkah sekaligus tanpa timer animasi
+    public int playRoll() {
+        int target = rollDice();
+        if (target < 0) return -1;
+        while (updateAnimation()) { }
+        return target;
     }
+    // Dicatat saat pion pertama kali sampai goal (tanpa scan semua pemain)
+    public Player getWinner() { return winner; }
     public void resetGame(int numPlayers) {
         initializePlayers(numPlayers);
         lastDiceRoll = 0;
         isAnimating = false;
+        for (GameListener l : listeners) l.gameStarted(this);
+    }
+    // Event mulai dari aksi berikutnya; gameStarted baru dikirim saat resetGame
+    public synchronized void addListener(GameListener listener) {
+        GameListener[] next = Arrays.copyOf(listeners, listeners.length + 1);
+        next[listeners.length] = listener;
+        listeners = next;
+    }
+    public synchronized void removeListener(GameListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] != listener) continue;
+            GameListener[] next = new GameListener[listeners.length - 1];
+            System.arraycopy(listeners, 0, next, 0, i);
+            System.arraycopy(listeners, i + 1, next, i, next.length - i);
+            listeners = next;
+            return;
+        }
+    }
+    // Semua roll/step/skor berikutnya dicatat; game yang sedang berjalan dicatat sebagai awal
+    public void setEventLog(EventLog eventLog) {
+        if (this.eventLog != null) removeListener(this.eventLog);
+        this.eventLog = eventLog;
+        if (eventLog == null) return;
+        addListener(eventLog);
+        eventLog.gameStarted(this);
+    }
+    // Pasang state dari snapshot (render offscreen FrameExporter); ranking
+    // dibangun ulang dalam urutan snapshot supaya urutan skor seri sama
+    void restore(GameSnapshot snapshot) {
+        for (int seat = 0; seat < allPlayers.size(); seat++) {
+            Player p = allPlayers.get(seat);
+            p.position = snapshot.position[seat];
+            p.rollCount = snapshot.rollCount[seat];
+            p.isShortestPathActive = snapshot.unlocked[seat];
+            // Riwayat path tidak ada di snapshot: dianggap langsung 0 -> posisi
+            store.reset(seat);
+            store.position[seat] = p.position;
+            if (p.position != 0) store.pathPush(seat, p.position);
+            store.rollCount[seat] = p.rollCount;
+            store.score[seat] = snapshot.score[seat];
+            if (p.isShortestPathActive) store.unlock(seat);
+        }
+        Leaderboard ranking = scoreManager.getRanking();
+        ranking.clear();
+        for (int seat : snapshot.ranking) {
+            Player p = allPlayers.get(seat);
+            p.totalScore = snapshot.score[seat];
+            ranking.add(p);
+        }
+        turnQueue.clear();
+        for (int i = 0; i < allPlayers.size(); i++) {
+            turnQueue.add(allPlayers.get((snapshot.currentSeat + i) % allPlayers.size()));
+        }
+        lastDiceRoll = snapshot.lastDiceRoll;
+        lastMoveForward = snapshot.lastMoveForward;
+        winner = null;
+        for (Player p : allPlayers) if (p.position == goal && winner == null) winner = p;
     }
+    // Hanya GUI yang mengukur; simulasi headless tidak membayar nanoTime + atomic per roll
+    public void setRollLatency(LatencyHistogram rollLatency) { this.rollLatency = rollLatency; }
+    public void setDiceSource(DiceSource dice) { this.dice = dice; }
+    DiceSource getDiceSource() { return dice; }
+    Graph getGraph() { return graph; }
+    List<Ladder> getLadders() { return gameLadders; }
+    ScoreManager getScoreManager() { return scoreManager; }
     public List<Player> getAllPlayers() { return allPlayers; }
     public Player getCurrentPlayer() { return turnQueue.peek(); }
     public int getLastDiceRoll() { return lastDiceRoll; }
@@ -675,32 +1373,83 @@ class Player {
     String name;
     Color color;
     int position;
-    List<Integer> path;
-    List<Integer> plannedPath;
+    IntRing plannedPath;
     int rollCount;
     boolean isShortestPathActive;
     int totalScore;
+    // Urutan duduk di meja (0 = pemain pertama)
+    int seat;
+    // Dipakai Leaderboard (node pemain di treap ranking)
+    Leaderboard rankedIn;
+    int rankNode;
     public Player(String name, Color color, int position) {
         this.name = name;
         this.color = color;
         this.position = position;
-        this.path = new ArrayList<>();
-        this.path.add(position);
-        this.plannedPath = new ArrayList<>();
+        this.plannedPath = new IntRing();
         this.rollCount = 0;
         this.isShortestPathActive = false;
         this.totalScore = 0;
     }
 }
 
+// Adjacency list primitif (bukan matrix size x size) supaya papan besar tetap hemat memori
 class Graph {
-    int[][] g;
+    private static final int[] NO_EDGES = new int[0];
+    int[][] adjacency;
+    int[][] weights;
+    int[] degree;
     String[] label;
     int size;
+    int edgeCount;
     public Graph(int size, String[] labels) {
         this.size = size;
         this.label = labels;
-        this.g = new int[size][size];
+        this.adjacency = new int[size][];
+        this.weights = new int[size][];
+        this.degree = new int[size];
+    }
+    public void addEdge(int from, int to, int weight) {
+        int[] targets = adjacency[from];
+        int n = degree[from];
+        for (int i = 0; i < n; i++) {
+            if (targets[i] == to) {
+                weights[from][i] = weight;
+                return;
+            }
+        }
+        if (targets == null) {
+            adjacency[from] = targets = new int[2];
+            weights[from] = new int[2];
+        } else if (n == targets.length) {
+            adjacency[from] = targets = Arrays.copyOf(targets, n * 2);
+            weights[from] = Arrays.copyOf(weights[from], n * 2);
+        }
+        targets[n] = to;
+        weights[from][n] = weight;
+        degree[from] = n + 1;
+        edgeCount++;
     }
-    public void addEdge(int from, int to, int weight) { g[from][to] = weight; }
-}
\ No newline at end of file
+    public int getWeight(int from, int to) {
+        int[] targets = adjacency[from];
+        for (int i = 0; i < degree[from]; i++) {
+            if (targets[i] == to) return weights[from][i];
+        }
+        return 0;
+    }
+    public int degree(int node) { return degree[node]; }
+    public int neighbour(int node, int i) { return adjacency[node][i]; }
+    public int weight(int node, int i) { return weights[node][i]; }
+    // Array tetangga langsung (panjang bisa > degree), untuk iterasi cepat tanpa alokasi
+    public int[] neighbours(int node) { return adjacency[node] == null ? NO_EDGES : adjacency[node]; }
+    public int[] neighbourWeights(int node) { return weights[node] == null ? NO_EDGES : weights[node]; }
+    // Buang kapasitas sisa setelah papan selesai dibangun
+    public void trimToSize() {
+        for (int i = 0; i < size; i++) {
+            if (adjacency[i] != null && adjacency[i].length != degree[i]) {
+                adjacency[i] = Arrays.copyOf(adjacency[i], degree[i]);
+                weights[i] = Arrays.copyOf(weights[i], degree[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package src;
+
+import java.util.Arrays;
+
+// ---------------------------------------------------------
+// PRIMITIVE PATH STRUCTURES
+// ---------------------------------------------------------
+// Stack int tanpa boxing (free list slice PlayerStore, meja milik Connection)
+class IntStack {
+    private int[] data;
+    private int size;
+
+    IntStack() { this(16); }
+
+    IntStack(int capacity) { data = new int[Math.max(1, capacity)]; }
+
+    void push(int value) {
+        if (size == data.length) data = Arrays.copyOf(data, size * 2);
+        data[size++] = value;
+    }
+
+    int pop() { return data[--size]; }
+    int peek() { return data[size - 1]; }
+    int get(int index) { return data[index]; }
+    int size() { return size; }
+    boolean isEmpty() { return size == 0; }
+    void clear() { size = 0; }
+}
+
+// Ring buffer int untuk langkah yang sudah direncanakan (poll O(1), bukan remove(0))
+class IntRing {
+    private int[] data;
+    private int head;
+    private int size;
+
+    IntRing() { this(8); }
+
+    IntRing(int capacity) { data = new int[Integer.highestOneBit(Math.max(2, capacity) - 1) << 1]; }
+
+    void add(int value) {
+        if (size == data.length) grow();
+        data[(head + size) & (data.length - 1)] = value;
+        size++;
+    }
+
+    int poll() {
+        int value = data[head];
+        head = (head + 1) & (data.length - 1);
+        size--;
+        return value;
+    }
+
+    int peek() { return data[head]; }
+    int get(int index) { return data[(head + index) & (data.length - 1)]; }
+    int size() { return size; }
+    boolean isEmpty() { return size == 0; }
+
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private void grow() {
+        int[] bigger = new int[data.length * 2];
+        for (int i = 0; i < size; i++) bigger[i] = get(i);
+        data = bigger;
+        head = 0;
+    }
+}
@@ -0,0 +1,332 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ---------------------------------------------------------
+// LADDER OPTIMIZER
+// ---------------------------------------------------------
+// Mencari susunan ladder untuk sebuah Graph supaya panjang game mendekati
+// target: rata-rata dan variance giliran sampai goal, serta giliran rata-rata
+// dan sebaran (std dev) saat shortcut (isShortestPathActive) terbuka. Setiap
+// kandidat dinilai eksak dengan MarkovSolver, paralel lewat fork/join, dan
+// hasilnya di-cache per layout supaya kandidat yang muncul lagi tidak dihitung ulang.
+//
+// Pencarian evolusioner sederhana: populasi diurutkan per skor, elite dimutasi
+// (geser ujung ladder, ganti satu ladder, tukar ujung dua ladder) dan anak
+// yang lebih baik menggantikan yang terburuk. Random hanya dipakai di thread
+// pemanggil, jadi hasil deterministik untuk seed yang sama.
+class LadderOptimizer {
+    private final Graph graph;
+    private final int goal;
+    private final int side;
+    private final int ladderCount;
+    private final LayoutTarget target;
+    private final ForkJoinPool pool;
+    private final Map<LadderLayout, LadderLayout> cache = new ConcurrentHashMap<>();
+    private final AtomicLong solves = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+
+    public LadderOptimizer(Graph graph, int ladderCount, LayoutTarget target, int parallelism) {
+        if (ladderCount < 1 || ladderCount > graph.size - 2) {
+            throw new IllegalArgumentException("Ladder count must be 1.." + (graph.size - 2));
+        }
+        this.graph = graph;
+        this.goal = graph.size - 1;
+        this.side = Math.max(2, (int) Math.ceil(Math.sqrt(graph.size)));
+        this.ladderCount = ladderCount;
+        this.target = target;
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+    }
+
+    public long getSolveCount() { return solves.get(); }
+    public long getCacheHits() { return cacheHits.get(); }
+
+    public void shutdown() { pool.shutdown(); }
+
+    // Nilai satu layout (dari cache jika sudah pernah)
+    public LadderLayout evaluate(LadderLayout layout) {
+        LadderLayout cached = cache.get(layout);
+        if (cached != null) {
+            cacheHits.incrementAndGet();
+            return cached;
+        }
+        MarkovSolver solver = new MarkovSolver(new TransitionTable(graph, layout.toLadders(), goal));
+        solver.setTolerance(1e-9);
+        layout.setResult(solver.solveMoments(), target);
+        solves.incrementAndGet();
+        cached = cache.putIfAbsent(layout, layout);
+        return cached != null ? cached : layout;
+    }
+
+    // Nilai semua kandidat paralel; hasil ditulis kembali ke array (instance dari cache)
+    public void evaluateAll(LadderLayout[] layouts) {
+        pool.invoke(new EvaluateTask(layouts, 0, layouts.length));
+    }
+
+    private class EvaluateTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final LadderLayout[] layouts;
+        private final int from;
+        private final int to;
+
+        EvaluateTask(LadderLayout[] layouts, int from, int to) {
+            this.layouts = layouts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) layouts[from] = evaluate(layouts[from]);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new EvaluateTask(layouts, from, mid), new EvaluateTask(layouts, mid, to));
+        }
+    }
+
+    public List<LadderLayout> optimize(List<Ladder> initial, int population, int generations, long seed, int keep) {
+        Random rand = new Random(seed);
+        List<LadderLayout> candidates = new ArrayList<>();
+        // Papan awal dinilai apa adanya (urutan dan start 0 sama dengan yang dimainkan)
+        if (initial != null && initial.size() == ladderCount) candidates.add(LadderLayout.of(initial));
+        while (candidates.size() < population) candidates.add(randomLayout(rand));
+        LadderLayout[] batch = candidates.toArray(new LadderLayout[0]);
+        evaluateAll(batch);
+        List<LadderLayout> best = survivors(Arrays.asList(batch), population);
+
+        int elite = Math.max(1, population / 4);
+        for (int gen = 0; gen < generations; gen++) {
+            LadderLayout[] children = new LadderLayout[population];
+            for (int i = 0; i < children.length; i++) {
+                children[i] = mutate(best.get(rand.nextInt(Math.min(elite, best.size()))), rand);
+            }
+            evaluateAll(children);
+            List<LadderLayout> merged = new ArrayList<>(best);
+            merged.addAll(Arrays.asList(children));
+            best = survivors(merged, population);
+        }
+        return new ArrayList<>(best.subList(0, Math.min(keep, best.size())));
+    }
+
+    // Urutkan per skor, buang duplikat, ambil sebanyak limit
+    private static List<LadderLayout> survivors(List<LadderLayout> layouts, int limit) {
+        List<LadderLayout> sorted = new ArrayList<>(layouts);
+        sorted.sort(Comparator.comparingDouble(l -> l.score));
+        Set<LadderLayout> seen = new HashSet<>();
+        List<LadderLayout> out = new ArrayList<>(limit);
+        for (LadderLayout l : sorted) {
+            if (out.size() == limit) break;
+            if (seen.add(l)) out.add(l);
+        }
+        return out;
+    }
+
+    private LadderLayout randomLayout(Random rand) {
+        int[] starts = new int[ladderCount];
+        int[] ends = new int[ladderCount];
+        for (int i = 0; i < ladderCount; i++) {
+            starts[i] = rand.nextInt(goal);
+            ends[i] = starts[i] + 1 + rand.nextInt(goal - starts[i]);
+        }
+        return normalize(new LadderLayout(starts, ends));
+    }
+
+    private LadderLayout mutate(LadderLayout parent, Random rand) {
+        int[] starts = parent.starts.clone();
+        int[] ends = parent.ends.clone();
+        int i = rand.nextInt(ladderCount);
+        int op = rand.nextInt(10);
+        if (op < 5) {
+            // Geser salah satu ujung sampai satu baris papan
+            int delta = (rand.nextInt(side) + 1) * (rand.nextBoolean() ? 1 : -1);
+            if (rand.nextBoolean()) starts[i] += delta;
+            else ends[i] += delta;
+        } else if (op < 8 || ladderCount < 2) {
+            starts[i] = rand.nextInt(goal);
+            ends[i] = starts[i] + 1 + rand.nextInt(goal - starts[i]);
+        } else {
+            int j = (i + 1 + rand.nextInt(ladderCount - 1)) % ladderCount;
+            int t = ends[i]; ends[i] = ends[j]; ends[j] = t;
+        }
+        return normalize(new LadderLayout(starts, ends));
+    }
+
+    // Start di 0..goal-1, end > start. Urutan list dipertahankan; start yang sudah
+    // dipakai ladder sebelumnya digeser (di game hanya ladder pertama yang berlaku)
+    private LadderLayout normalize(LadderLayout layout) {
+        int[] starts = layout.starts.clone();
+        int[] ends = layout.ends.clone();
+        boolean[] used = new boolean[goal + 1];
+        for (int i = 0; i < starts.length; i++) {
+            int s = Math.max(0, Math.min(goal - 1, starts[i]));
+            while (used[s]) s = (s + 1) % goal;
+            used[s] = true;
+            starts[i] = s;
+            ends[i] = Math.max(s + 1, Math.min(goal, ends[i]));
+        }
+        return new LadderLayout(starts, ends);
+    }
+
+    public static void main(String[] args) {
+        // Argumen: [nodes] [ladders] [targetTurns] [targetVariance] [targetUnlockTurn] [targetUnlockSpread]
+        //          [generations] [population] [seed]
+        int nodes = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int ladders = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        LayoutTarget target = new LayoutTarget(
+                args.length > 2 ? Double.parseDouble(args[2]) : 12.0,
+                args.length > 3 ? Double.parseDouble(args[3]) : 20.0,
+                args.length > 4 ? Double.parseDouble(args[4]) : 3.0,
+                args.length > 5 ? Double.parseDouble(args[5]) : 1.5);
+        int generations = args.length > 6 ? Integer.parseInt(args[6]) : 40;
+        int population = args.length > 7 ? Integer.parseInt(args[7]) : 64;
+        long seed = args.length > 8 ? Long.parseLong(args[8]) : 42L;
+
+        Graph graph = GraphVisualizer.createGraph(nodes);
+        List<Ladder> current = GraphVisualizer.createLadders(new Random(seed), nodes);
+        LadderOptimizer optimizer = new LadderOptimizer(graph, ladders, target,
+                Runtime.getRuntime().availableProcessors());
+        try {
+            System.out.println("Target: " + target);
+            if (current.size() == ladders) {
+                System.out.println("Current board: " + optimizer.evaluate(LadderLayout.of(current)));
+            }
+            long start = System.nanoTime();
+            List<LadderLayout> best = optimizer.optimize(current, population, generations, seed, 5);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Searched %d generations x %d in %.2f s: %d solves, %d cache hits%n",
+                    generations, population, seconds, optimizer.getSolveCount(), optimizer.getCacheHits());
+            for (int i = 0; i < best.size(); i++) {
+                LadderLayout layout = best.get(i);
+                System.out.println((i + 1) + ". " + layout);
+                for (Ladder l : layout.toLadders()) {
+                    System.out.println("       ladders.add(new Ladder(" + l.startIdx + ", " + l.endIdx + "));");
+                }
+            }
+        } finally {
+            optimizer.shutdown();
+        }
+    }
+}
+
+// Target panjang game; skor = jumlah kuadrat error relatif (0 = tepat sasaran)
+class LayoutTarget {
+    final double meanTurns;
+    final double turnVariance;
+    final double unlockTurn;
+    final double unlockSpread;
+
+    LayoutTarget(double meanTurns, double turnVariance, double unlockTurn, double unlockSpread) {
+        this.meanTurns = meanTurns;
+        this.turnVariance = turnVariance;
+        this.unlockTurn = unlockTurn;
+        this.unlockSpread = unlockSpread;
+    }
+
+    double score(double mean, double variance, double unlockMean, double spread, double unlockProbability) {
+        double score = sq((mean - meanTurns) / meanTurns)
+                + sq((variance - turnVariance) / turnVariance)
+                + sq((unlockMean - unlockTurn) / unlockTurn)
+                + sq((spread - unlockSpread) / unlockSpread);
+        // Pemain yang tidak pernah unlock dihitung sebagai penalti
+        return score + sq(1 - unlockProbability);
+    }
+
+    private static double sq(double x) { return x * x; }
+
+    @Override
+    public String toString() {
+        return String.format("turns %.2f (variance %.2f), unlock turn %.2f (spread %.2f)",
+                meanTurns, turnVariance, unlockTurn, unlockSpread);
+    }
+}
+
+// Satu susunan ladder dalam urutan list game (ladder pertama per start yang berlaku).
+// equals/hashCode (key cache) memakai papan efektif: ladder yang berlaku, urut per start.
+class LadderLayout {
+    final int[] starts;
+    final int[] ends;
+    private final int[] keyStarts;
+    private final int[] keyEnds;
+    private final int hash;
+    double meanTurns;
+    double turnVariance;
+    double unlockProbability;
+    double unlockTurn;
+    double unlockSpread;
+    double score = Double.MAX_VALUE;
+
+    LadderLayout(int[] starts, int[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+        // Ladder dengan start yang sudah dipakai ladder sebelumnya tidak berlaku
+        List<Integer> effective = new ArrayList<>(starts.length);
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < starts.length; i++) if (seen.add(starts[i])) effective.add(i);
+        effective.sort(Comparator.comparingInt(i -> starts[i]));
+        keyStarts = new int[effective.size()];
+        keyEnds = new int[effective.size()];
+        for (int k = 0; k < keyStarts.length; k++) {
+            keyStarts[k] = starts[effective.get(k)];
+            keyEnds[k] = ends[effective.get(k)];
+        }
+        this.hash = 31 * Arrays.hashCode(keyStarts) + Arrays.hashCode(keyEnds);
+    }
+
+    static LadderLayout of(List<Ladder> ladders) {
+        int[] starts = new int[ladders.size()];
+        int[] ends = new int[ladders.size()];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = ladders.get(i).startIdx;
+            ends[i] = ladders.get(i).endIdx;
+        }
+        return new LadderLayout(starts, ends);
+    }
+
+    List<Ladder> toLadders() {
+        List<Ladder> ladders = new ArrayList<>(starts.length);
+        for (int i = 0; i < starts.length; i++) ladders.add(new Ladder(starts[i], ends[i]));
+        return ladders;
+    }
+
+    void setResult(MarkovResult result, LayoutTarget target) {
+        meanTurns = result.expectedTurns();
+        turnVariance = result.turnVariance();
+        unlockProbability = result.unlockProbability();
+        unlockTurn = result.expectedUnlockTurn();
+        unlockSpread = result.unlockTurnSpread();
+        score = target.score(meanTurns, turnVariance, unlockTurn, unlockSpread, unlockProbability);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof LadderLayout)) return false;
+        LadderLayout other = (LadderLayout) o;
+        return hash == other.hash && Arrays.equals(keyStarts, other.keyStarts) && Arrays.equals(keyEnds, other.keyEnds);
+    }
+
+    @Override
+    public int hashCode() { return hash; }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < starts.length; i++) {
+            sb.append(i == 0 ? "" : " ").append(starts[i] + 1).append("->").append(ends[i] + 1);
+        }
+        return String.format("%s | turns %.2f (variance %.2f), unlock turn %.2f (spread %.2f, P %.3f), score %.5f",
+                sb, meanTurns, turnVariance, unlockTurn, unlockSpread, unlockProbability, score);
+    }
+}
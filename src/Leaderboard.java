@@ -0,0 +1,298 @@
+package src;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+// ---------------------------------------------------------
+// LEADERBOARD
+// ---------------------------------------------------------
+// Ranking yang di-update incremental setiap skor berubah, bukan copy + sort
+// seluruh pemain setiap repaint. Urutan: skor turun, seri sesuai urutan masuk
+// (seperti sort stabil sebelumnya). Disimpan sebagai treap order-statistic di
+// array primitif (satu node per pemain, jumlah node subtree di count[]), jadi
+// update skor, tambah/hapus, rank, posisi dan elemen ke-k semuanya O(log n)
+// tanpa geser array, juga untuk puluhan ribu pemain. Kunci (skor, seq) disalin
+// ke node supaya pohon tidak bergantung pada Player.totalScore yang berubah.
+// Node juga dirangkai prev/next sesuai urutan: skor yang hanya melewati
+// beberapa tetangga (kasus umum di game 2-6 pemain) cukup menggeser isi node di
+// sepanjang rantai itu, tanpa split/merge, secepat array terurut sebelumnya.
+class Leaderboard {
+    private static final int NIL = -1;
+    // Batas tetangga yang digeser setScore (menjaga O(log n) untuk lompatan jauh)
+    private static final int MAX_SHIFT = 8;
+
+    // Node i: pemain, kunci, prioritas heap, anak, ukuran subtree
+    private Player[] players = new Player[16];
+    private int[] score = new int[16];
+    private int[] seq = new int[16];
+    private int[] priority = new int[16];
+    private int[] left = new int[16];
+    private int[] right = new int[16];
+    private int[] count = new int[16];
+    private int[] prev = new int[16];
+    private int[] next = new int[16];
+    private int root = NIL;
+    // Node yang pernah dipakai; node pemain yang dihapus dipakai ulang lewat freeNodes
+    private int nodes;
+    private final IntStack freeNodes = new IntStack();
+    private int size;
+    private int nextSeq;
+    // xorshift untuk prioritas (seed tetap: bentuk pohon deterministik)
+    private int random = 0x2545F491;
+    // Hasil split (dua nilai tanpa alokasi)
+    private int splitLeft, splitRight;
+
+    private final List<Player> view = new AbstractList<Player>() {
+        @Override
+        public Player get(int index) {
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+            return players[select(index)];
+        }
+
+        @Override
+        public int size() { return size; }
+    };
+
+    public void add(Player player) {
+        if (player.rankedIn == this) return;
+        int n = allocate();
+        players[n] = player;
+        score[n] = player.totalScore;
+        seq[n] = nextSeq++;
+        player.rankedIn = this;
+        player.rankNode = n;
+        insert(n);
+        size++;
+    }
+
+    public void remove(Player player) {
+        if (player.rankedIn != this) return;
+        int n = player.rankNode;
+        detach(n);
+        players[n] = null;
+        freeNodes.push(n);
+        size--;
+        player.rankedIn = null;
+    }
+
+    public boolean contains(Player player) { return player.rankedIn == this; }
+    public int size() { return size; }
+
+    public void clear() {
+        for (int i = 0; i < nodes; i++) {
+            if (players[i] == null) continue;
+            players[i].rankedIn = null;
+            players[i] = null;
+        }
+        root = NIL;
+        nodes = 0;
+        freeNodes.clear();
+        size = 0;
+        nextSeq = 0;
+    }
+
+    // Skor harus diubah lewat sini supaya urutan tetap valid
+    public void setScore(Player player, int score) {
+        if (player.rankedIn != this) {
+            player.totalScore = score;
+            add(player);
+            return;
+        }
+        int old = player.totalScore;
+        if (old == score) return;
+        player.totalScore = score;
+        int n = player.rankNode;
+        boolean up = score > old;
+        int neighbour = up ? prev[n] : next[n];
+        // Kasus paling umum: tidak melewati siapa pun, kunci cukup diganti di tempat
+        if (neighbour == NIL || before(neighbour, score, seq[n]) == up) {
+            this.score[n] = score;
+            return;
+        }
+        shift(n, score, up);
+    }
+
+    // Competition rank: 1 + jumlah pemain dengan skor lebih tinggi
+    public int rankOfScore(int score) {
+        // Tidak ada seq < MIN_VALUE: yang dihitung hanya skor > score
+        return countBefore(score, Integer.MIN_VALUE) + 1;
+    }
+
+    public int rankOf(Player player) { return rankOfScore(player.totalScore); }
+
+    // Posisi di urutan leaderboard (0 = teratas)
+    public int positionOf(Player player) {
+        if (player.rankedIn != this) return -1;
+        int n = player.rankNode;
+        return countBefore(score[n], seq[n]);
+    }
+
+    public Player leader() { return size == 0 ? null : players[select(0)]; }
+
+    // View terurut tanpa copy; get(k) O(log n), top-k cukup baca k elemen pertama
+    public List<Player> asList() { return view; }
+
+    public List<Player> top(int k) { return view.subList(0, Math.min(k, size)); }
+
+    // Pemain melewati beberapa tetangga: isi node digeser satu posisi di sepanjang
+    // rantai itu (bentuk pohon tetap); lompatan jauh dilepas lalu disisipkan ulang
+    private void shift(int n, int score, boolean up) {
+        int q = seq[n];
+        int[] link = up ? prev : next;
+        int target = n;
+        int steps = 0;
+        for (int t = link[n]; t != NIL && before(t, score, q) != up; t = link[t]) {
+            if (++steps > MAX_SHIFT) {
+                detach(n);
+                this.score[n] = score;
+                insert(n);
+                return;
+            }
+            target = t;
+        }
+        Player moving = players[n];
+        for (int at = n; at != target; at = link[at]) {
+            int from = link[at];
+            players[at] = players[from];
+            this.score[at] = this.score[from];
+            seq[at] = seq[from];
+            players[at].rankNode = at;
+        }
+        players[target] = moving;
+        this.score[target] = score;
+        seq[target] = q;
+        moving.rankNode = target;
+    }
+
+    // --- Treap ---
+
+    private int allocate() {
+        if (!freeNodes.isEmpty()) return reset(freeNodes.pop());
+        if (nodes == players.length) {
+            int capacity = nodes * 2;
+            players = Arrays.copyOf(players, capacity);
+            score = Arrays.copyOf(score, capacity);
+            seq = Arrays.copyOf(seq, capacity);
+            priority = Arrays.copyOf(priority, capacity);
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            count = Arrays.copyOf(count, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        return reset(nodes++);
+    }
+
+    private int reset(int n) {
+        random ^= random << 13;
+        random ^= random >>> 17;
+        random ^= random << 5;
+        priority[n] = random;
+        left[n] = NIL;
+        right[n] = NIL;
+        count[n] = 1;
+        prev[n] = NIL;
+        next[n] = NIL;
+        return n;
+    }
+
+    // Node n berada sebelum kunci (s, q)
+    private boolean before(int n, int s, int q) {
+        return score[n] != s ? score[n] > s : seq[n] < q;
+    }
+
+    private int count(int n) { return n == NIL ? 0 : count[n]; }
+
+    private void update(int n) { count[n] = count(left[n]) + count(right[n]) + 1; }
+
+    private void insert(int n) {
+        split(root, score[n], seq[n]);
+        int head = splitLeft, tail = splitRight;
+        int p = head, s = tail;
+        if (p != NIL) while (right[p] != NIL) p = right[p];
+        if (s != NIL) while (left[s] != NIL) s = left[s];
+        prev[n] = p;
+        next[n] = s;
+        if (p != NIL) next[p] = n;
+        if (s != NIL) prev[s] = n;
+        root = merge(merge(head, n), tail);
+    }
+
+    // Lepas node n dari pohon (kunci di node harus masih kunci saat dimasukkan)
+    private void detach(int n) {
+        split(root, score[n], seq[n]);
+        int head = splitLeft;
+        // seq unik: di antara (s, q) dan (s, q + 1) hanya ada node n
+        split(splitRight, score[n], seq[n] + 1);
+        root = merge(head, splitRight);
+        if (prev[n] != NIL) next[prev[n]] = next[n];
+        if (next[n] != NIL) prev[next[n]] = prev[n];
+        left[n] = NIL;
+        right[n] = NIL;
+        count[n] = 1;
+        prev[n] = NIL;
+        next[n] = NIL;
+    }
+
+    // splitLeft = node sebelum kunci (s, q), splitRight = sisanya
+    private void split(int t, int s, int q) {
+        if (t == NIL) {
+            splitLeft = NIL;
+            splitRight = NIL;
+        } else if (before(t, s, q)) {
+            split(right[t], s, q);
+            right[t] = splitLeft;
+            update(t);
+            splitLeft = t;
+        } else {
+            split(left[t], s, q);
+            left[t] = splitRight;
+            update(t);
+            splitRight = t;
+        }
+    }
+
+    // Semua node a sebelum semua node b
+    private int merge(int a, int b) {
+        if (a == NIL) return b;
+        if (b == NIL) return a;
+        if (priority[a] > priority[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private int countBefore(int s, int q) {
+        int c = 0;
+        for (int t = root; t != NIL; ) {
+            if (before(t, s, q)) {
+                c += count(left[t]) + 1;
+                t = right[t];
+            } else {
+                t = left[t];
+            }
+        }
+        return c;
+    }
+
+    // Node ke-k (0 = teratas)
+    private int select(int k) {
+        int t = root;
+        while (true) {
+            int l = count(left[t]);
+            if (k < l) {
+                t = left[t];
+            } else if (k == l) {
+                return t;
+            } else {
+                k -= l + 1;
+                t = right[t];
+            }
+        }
+    }
+}
@@ -0,0 +1,638 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+// ---------------------------------------------------------
+// MARKOV CHAIN SOLVER
+// ---------------------------------------------------------
+// Menghitung distribusi giliran sampai goal secara eksak (bukan simulasi)
+// untuk satu pemain, mengikuti aturan GameManager:
+// dadu 1-6, 80% maju / 20% mundur (mundur = pop path), shortcut terbuka di
+// node prima mulai roll ke-2, dan giliran bonus di kelipatan 5.
+//
+// State pemain = (posisi, anchor, shortcut aktif). Path selalu berupa
+// prefix walk biasa 0..anchor lalu rantai unlockedStep dari anchor sampai
+// posisi, jadi anchor cukup untuk merekonstruksi hasil langkah mundur.
+// Asumsi: walk biasa (lockedStep) adalah satu jalur linear dari node 0,
+// seperti papan yang dibangun GraphVisualizer.createGraph.
+//
+// solve() menghitung distribusi giliran lengkap (dibutuhkan winProbabilities);
+// biayanya state x giliran: 0.9 s di 1.024 node (7.873 state), 5.8 s di 2.500
+// (37.171 state), 36 s di 4.096 (96.473 state). solveMoments() menghitung
+// rata-rata/variance giliran, statistik unlock, pendaratan dan roll langsung dari
+// sistem linear ekspektasi (BiCGSTAB), biayanya state x iterasi dan iterasi hanya
+// naik pelan (30 / 57 / 88): 0.15 s, 1.1 s dan 4.2 s untuk papan yang sama
+// (satu core). LadderOptimizer cukup memakai solveMoments.
+class MarkovSolver {
+    static final double FORWARD_PROBABILITY = 0.8;
+    static final int DICE_SIDES = 6;
+    private static final int PARALLEL_THRESHOLD = 4096;
+    private static final int BLOCK_SIZE = 1024;
+
+    private final TransitionTable table;
+    private final int goal;
+    private double tolerance = 1e-12;
+    private int maxTurns = 100_000;
+
+    // State space
+    private int stateCount;
+    private int[] statePos;
+    private boolean[] stateActive;
+    private int inactiveStart;
+
+    // Matrix transisi per roll, disimpan transposed (CSR incoming) untuk iterasi pull paralel
+    private SparseMatrix firstRoll;
+    private SparseMatrix laterRoll;
+    // laterRoll per state asal (row = asal), untuk sistem ekspektasi solveMoments
+    private SparseMatrix laterRollOut;
+
+    public MarkovSolver(Graph graph, List<Ladder> ladders) {
+        this(new TransitionTable(graph, ladders, graph.size - 1));
+    }
+
+    public MarkovSolver(TransitionTable table) {
+        this.table = table;
+        this.goal = table.goal;
+        buildStateSpace();
+    }
+
+    public void setTolerance(double tolerance) { this.tolerance = tolerance; }
+    public void setMaxTurns(int maxTurns) { this.maxTurns = maxTurns; }
+    public int getStateCount() { return stateCount; }
+
+    private static boolean isPrime(int n) {
+        if (n <= 1) return false;
+        for (int i = 2; (long) i * i <= n; i++) if (n % i == 0) return false;
+        return true;
+    }
+
+    private static long key(int pos, int anchor, boolean active) {
+        return ((active ? 1L : 0L) << 62) | ((long) anchor << 31) | pos;
+    }
+
+    private void buildStateSpace() {
+        int n = table.nodeCount;
+        int[] locked = table.lockedStep;
+        int[] unlocked = table.unlockedStep;
+
+        int[] lockedPred = new int[n];
+        Arrays.fill(lockedPred, 0);
+        for (int cur = 0; locked[cur] != cur; cur = locked[cur]) lockedPred[locked[cur]] = cur;
+
+        Map<Long, Integer> index = new HashMap<>();
+        IntList pos = new IntList();
+        IntList anchor = new IntList();
+        IntList pred = new IntList();
+        List<Boolean> active = new ArrayList<>();
+        IntList fwd = new IntList();
+        IntList back = new IntList();
+        IntList unlock = new IntList();
+
+        inactiveStart = intern(index, pos, anchor, pred, active, 0, 0, false, 0);
+        // BFS: state baru hanya ditemukan lewat langkah maju/unlock, jadi pred selalu terisi
+        for (int x = 0; x < pos.size; x++) {
+            int p = pos.get(x);
+            int s = anchor.get(x);
+            boolean act = active.get(x);
+
+            int f;
+            if (!act) {
+                int q = locked[p];
+                f = intern(index, pos, anchor, pred, active, q, q, false, p);
+            } else {
+                int q = unlocked[p];
+                if (q == p) f = x;
+                else if (p == s && q == locked[p]) f = intern(index, pos, anchor, pred, active, q, q, true, p);
+                else f = intern(index, pos, anchor, pred, active, q, s, true, p);
+            }
+
+            int b;
+            if (p == 0) {
+                b = x;
+            } else if (p == s) {
+                int q = lockedPred[p];
+                b = intern(index, pos, anchor, pred, active, q, q, act, lockedPred[q]);
+            } else {
+                int q = pred.get(x);
+                b = q == s ? index.get(key(s, s, true)) : index.get(key(q, s, true));
+            }
+
+            int u = -1;
+            if (!act && isPrime(p + 1)) u = intern(index, pos, anchor, pred, active, p, p, true, lockedPred[p]);
+
+            fwd.add(f);
+            back.add(b);
+            unlock.add(u);
+        }
+
+        stateCount = pos.size;
+        statePos = Arrays.copyOf(pos.data, stateCount);
+        stateActive = new boolean[stateCount];
+        for (int i = 0; i < stateCount; i++) stateActive[i] = active.get(i);
+
+        firstRoll = buildRollMatrix(fwd.data, back.data, unlock.data, false);
+        laterRoll = buildRollMatrix(fwd.data, back.data, unlock.data, true);
+        laterRollOut = laterRoll.transpose();
+    }
+
+    private int intern(Map<Long, Integer> index, IntList pos, IntList anchor, IntList pred,
+                       List<Boolean> active, int p, int s, boolean act, int predecessor) {
+        long k = key(p, s, act);
+        Integer existing = index.get(k);
+        if (existing != null) return existing;
+        int id = pos.size;
+        index.put(k, id);
+        pos.add(p);
+        anchor.add(s);
+        pred.add(predecessor);
+        active.add(act);
+        return id;
+    }
+
+    private SparseMatrix buildRollMatrix(int[] fwd, int[] back, int[] unlock, boolean unlockAllowed) {
+        int[] from = new int[stateCount * DICE_SIDES * 2];
+        int[] to = new int[from.length];
+        double[] prob = new double[from.length];
+        int nnz = 0;
+        double pf = FORWARD_PROBABILITY / DICE_SIDES;
+        double pb = (1 - FORWARD_PROBABILITY) / DICE_SIDES;
+        for (int x = 0; x < stateCount; x++) {
+            if (statePos[x] == goal) continue;
+            int f = x, b = x;
+            for (int d = 1; d <= DICE_SIDES; d++) {
+                f = fwd[f];
+                b = back[b];
+                from[nnz] = x; to[nnz] = afterRoll(f, unlock, unlockAllowed); prob[nnz++] = pf;
+                from[nnz] = x; to[nnz] = afterRoll(b, unlock, unlockAllowed); prob[nnz++] = pb;
+            }
+        }
+        return SparseMatrix.transposed(stateCount, from, to, prob, nnz);
+    }
+
+    private int afterRoll(int state, int[] unlock, boolean unlockAllowed) {
+        return unlockAllowed && unlock[state] >= 0 ? unlock[state] : state;
+    }
+
+    private boolean isBonus(int pos) {
+        return (pos + 1) % 5 == 0 && pos != goal;
+    }
+
+    public MarkovResult solve() {
+        long start = System.nanoTime();
+        int n = table.nodeCount;
+        double[] current = new double[stateCount];
+        double[] bonus = new double[stateCount];
+        double[] next = new double[stateCount];
+        double[] work = new double[stateCount];
+        current[inactiveStart] = 1.0;
+
+        double[] turnProbability = new double[64];
+        double[] unlockTurnProbability = new double[64];
+        double[] expectedLandings = new double[n];
+        double expectedRolls = 0;
+        double unlockedAtGoal = 0;
+        double unlockedBefore = 0;
+        double alive = 1.0;
+        boolean firstRollPending = true;
+        int turns = 0;
+
+        while (alive > tolerance && turns < maxTurns) {
+            turns++;
+            Arrays.fill(next, 0);
+            double finished = 0;
+            double rolling = alive;
+            // Loop roll di dalam satu giliran (bonus turn di kelipatan 5)
+            for (int inner = 0; rolling > tolerance && inner < 10_000; inner++) {
+                expectedRolls += rolling;
+                SparseMatrix m = firstRollPending ? firstRoll : laterRoll;
+                firstRollPending = false;
+                multiply(m, current, work);
+
+                Arrays.fill(bonus, 0);
+                rolling = 0;
+                for (int x = 0; x < stateCount; x++) {
+                    double mass = work[x];
+                    if (mass == 0) continue;
+                    int p = statePos[x];
+                    expectedLandings[p] += mass;
+                    if (p == goal) {
+                        finished += mass;
+                        if (stateActive[x]) unlockedAtGoal += mass;
+                    } else if (isBonus(p)) {
+                        bonus[x] = mass;
+                        rolling += mass;
+                    } else {
+                        next[x] += mass;
+                    }
+                }
+                double[] t = current; current = bonus; bonus = t;
+            }
+            if (turns >= turnProbability.length) {
+                turnProbability = Arrays.copyOf(turnProbability, turns * 2);
+                unlockTurnProbability = Arrays.copyOf(unlockTurnProbability, turns * 2);
+            }
+            turnProbability[turns] = finished;
+            double[] t = current; current = next; next = t;
+            alive = 0;
+            double activeAlive = 0;
+            for (int x = 0; x < stateCount; x++) {
+                alive += current[x];
+                if (stateActive[x]) activeAlive += current[x];
+            }
+            // Massa yang sudah unlock (masih main + sudah di goal) naik tepat sebesar unlock giliran ini
+            double unlockedNow = activeAlive + unlockedAtGoal;
+            unlockTurnProbability[turns] = unlockedNow - unlockedBefore;
+            unlockedBefore = unlockedNow;
+        }
+
+        MarkovResult result = new MarkovResult();
+        result.turnProbability = Arrays.copyOf(turnProbability, turns + 1);
+        result.unlockTurnProbability = Arrays.copyOf(unlockTurnProbability, turns + 1);
+        result.expectedLandings = expectedLandings;
+        result.expectedRolls = expectedRolls;
+        result.unlockedAtGoalProbability = unlockedAtGoal;
+        result.residualProbability = alive;
+        result.stateCount = stateCount;
+        result.computeMoments();
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    // Hanya momen (tanpa distribusi giliran), dari sistem linear ekspektasi per roll.
+    // Satu roll ke state y menutup giliran (c = 1) kecuali y node bonus; goal menyerap.
+    //   h1(x) = sum P(x,y) [c + h1(y)],  h2(x) = sum P(x,y) [c + 2c h1(y) + h2(y)]
+    // Unlock = transisi state biasa -> state shortcut aktif; dengan N = giliran selesai
+    // sebelum roll unlock (giliran unlock = N + 1), untuk state biasa:
+    //   g0 = P(unlock), g1 = E[N; unlock], g2 = E[N^2; unlock]
+    // Roll pertama (firstRoll, tanpa unlock) digabung satu langkah dari state awal.
+    // Pendaratan: w = firstRoll dari state awal + w * P (hanya dari state yang masih main).
+    public MarkovResult solveMoments() {
+        long start = System.nanoTime();
+        boolean[] playing = new boolean[stateCount];
+        boolean[] inactivePlaying = new boolean[stateCount];
+        double[] cost = new double[stateCount];
+        for (int x = 0; x < stateCount; x++) {
+            int p = statePos[x];
+            playing[x] = p != goal;
+            inactivePlaying[x] = playing[x] && !stateActive[x];
+            cost[x] = isBonus(p) ? 0 : 1;
+        }
+        // Urutan state per posisi (counting sort), untuk preconditioner
+        int[] slot = new int[table.nodeCount + 1];
+        for (int x = 0; x < stateCount; x++) slot[statePos[x] + 1]++;
+        for (int i = 0; i < table.nodeCount; i++) slot[i + 1] += slot[i];
+        int[] ascending = new int[stateCount];
+        int[] descending = new int[stateCount];
+        for (int x = 0; x < stateCount; x++) ascending[slot[statePos[x]]++] = x;
+        for (int i = 0; i < stateCount; i++) descending[i] = ascending[stateCount - 1 - i];
+        SparseMatrix out = laterRollOut;
+
+        // Momen giliran sampai goal
+        double[] b = new double[stateCount];
+        for (int x = 0; x < stateCount; x++) {
+            if (!playing[x]) continue;
+            for (int k = out.rowStart[x]; k < out.rowStart[x + 1]; k++) b[x] += out.value[k] * cost[out.column[k]];
+        }
+        double[] h1 = solveLinear(out, b, playing, playing, descending);
+        b = new double[stateCount];
+        for (int x = 0; x < stateCount; x++) {
+            if (!playing[x]) continue;
+            for (int k = out.rowStart[x]; k < out.rowStart[x + 1]; k++) {
+                int y = out.column[k];
+                b[x] += out.value[k] * cost[y] * (1 + 2 * h1[y]);
+            }
+        }
+        double[] h2 = solveLinear(out, b, playing, playing, descending);
+
+        // Unlock: hanya state biasa yang masih main; transisi ke state aktif = unlock (menyerap)
+        b = new double[stateCount];
+        for (int x = 0; x < stateCount; x++) {
+            if (!inactivePlaying[x]) continue;
+            for (int k = out.rowStart[x]; k < out.rowStart[x + 1]; k++) {
+                if (stateActive[out.column[k]]) b[x] += out.value[k];
+            }
+        }
+        double[] g0 = solveLinear(out, b, inactivePlaying, inactivePlaying, descending);
+        b = new double[stateCount];
+        for (int x = 0; x < stateCount; x++) {
+            if (!inactivePlaying[x]) continue;
+            for (int k = out.rowStart[x]; k < out.rowStart[x + 1]; k++) {
+                int y = out.column[k];
+                if (inactivePlaying[y]) b[x] += out.value[k] * cost[y] * g0[y];
+            }
+        }
+        double[] g1 = solveLinear(out, b, inactivePlaying, inactivePlaying, descending);
+        b = new double[stateCount];
+        for (int x = 0; x < stateCount; x++) {
+            if (!inactivePlaying[x]) continue;
+            for (int k = out.rowStart[x]; k < out.rowStart[x + 1]; k++) {
+                int y = out.column[k];
+                if (inactivePlaying[y]) b[x] += out.value[k] * cost[y] * (g0[y] + 2 * g1[y]);
+            }
+        }
+        double[] g2 = solveLinear(out, b, inactivePlaying, inactivePlaying, descending);
+
+        // Roll pertama dari state awal, lalu ekspektasi pendaratan per state
+        double[] first = new double[stateCount];
+        double turns1 = 0, turns2 = 0, unlock0 = 0, unlock1 = 0, unlock2 = 0;
+        for (int y = 0; y < stateCount; y++) {
+            for (int k = firstRoll.rowStart[y]; k < firstRoll.rowStart[y + 1]; k++) {
+                if (firstRoll.column[k] == inactiveStart) first[y] += firstRoll.value[k];
+            }
+            double q = first[y];
+            if (q == 0) continue;
+            double c = cost[y];
+            turns1 += q * (c + h1[y]);
+            turns2 += q * (c + 2 * c * h1[y] + h2[y]);
+            if (stateActive[y]) {
+                unlock0 += q;
+            } else if (playing[y]) {
+                unlock0 += q * g0[y];
+                unlock1 += q * (c * g0[y] + g1[y]);
+                unlock2 += q * (c * g0[y] + 2 * c * g1[y] + g2[y]);
+            }
+        }
+        double[] landings = solveLinear(laterRoll, first, null, playing, ascending);
+
+        MarkovResult result = new MarkovResult();
+        result.expectedLandings = new double[table.nodeCount];
+        result.expectedRolls = 1;
+        for (int y = 0; y < stateCount; y++) {
+            result.expectedLandings[statePos[y]] += landings[y];
+            if (playing[y]) result.expectedRolls += landings[y];
+            else if (stateActive[y]) result.unlockedAtGoalProbability += landings[y];
+        }
+        result.meanTurns = turns1;
+        result.turnVariance = turns2 - turns1 * turns1;
+        result.unlockProbability = unlock0;
+        if (unlock0 > 0) {
+            // Giliran unlock = N + 1
+            double mean = (unlock0 + unlock1) / unlock0;
+            double second = (unlock0 + 2 * unlock1 + unlock2) / unlock0;
+            result.unlockTurnMean = mean;
+            result.unlockTurnSpread = Math.sqrt(Math.max(0, second - mean * mean));
+        }
+        result.stateCount = stateCount;
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    // v = b + Q v, Q = m dibatasi ke row/kolom dengan mask (rowMask null = semua row).
+    // BiCGSTAB untuk (I - Q) v = b dengan preconditioner satu sweep Gauss-Seidel dalam
+    // urutan order (hanya kolom yang sudah dilewati); berhenti jika residu relatif <= tolerance
+    private double[] solveLinear(SparseMatrix m, double[] b, boolean[] rowMask, boolean[] columnMask, int[] order) {
+        int n = b.length;
+        int[] rank = new int[n];
+        for (int i = 0; i < order.length; i++) rank[order[i]] = i;
+        double[] x = new double[n];
+        double[] r = b.clone();
+        double[] rHat = b.clone();
+        double[] p = new double[n], v = new double[n], y = new double[n], z = new double[n], t = new double[n], sv = new double[n];
+        double rho = 1, alpha = 1, omega = 1;
+        double bNorm = Math.sqrt(dot(b, b));
+        if (bNorm == 0) return x;
+        for (int it = 0; it < maxTurns; it++) {
+            double rhoNext = dot(rHat, r);
+            if (rhoNext == 0) break;
+            double beta = (rhoNext / rho) * (alpha / omega);
+            rho = rhoNext;
+            for (int i = 0; i < n; i++) p[i] = r[i] + beta * (p[i] - omega * v[i]);
+            precondition(m, p, y, rowMask, columnMask, order, rank);
+            multiplyResidual(m, y, v, rowMask, columnMask);
+            alpha = rho / dot(rHat, v);
+            for (int i = 0; i < n; i++) sv[i] = r[i] - alpha * v[i];
+            precondition(m, sv, z, rowMask, columnMask, order, rank);
+            multiplyResidual(m, z, t, rowMask, columnMask);
+            double tt = dot(t, t);
+            omega = tt == 0 ? 0 : dot(t, sv) / tt;
+            for (int i = 0; i < n; i++) {
+                x[i] += alpha * y[i] + omega * z[i];
+                r[i] = sv[i] - omega * t[i];
+            }
+            if (omega == 0 || Math.sqrt(dot(r, r)) <= tolerance * bNorm) break;
+        }
+        return x;
+    }
+
+    private static double dot(double[] a, double[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) sum += a[i] * b[i];
+        return sum;
+    }
+
+    // out = (I - Q) in
+    private static void multiplyResidual(SparseMatrix m, double[] in, double[] out, boolean[] rowMask, boolean[] columnMask) {
+        for (int r = 0; r < in.length; r++) {
+            if (rowMask != null && !rowMask[r]) { out[r] = in[r]; continue; }
+            double sum = in[r];
+            for (int k = m.rowStart[r]; k < m.rowStart[r + 1]; k++) {
+                int c = m.column[k];
+                if (columnMask[c]) sum -= m.value[k] * in[c];
+            }
+            out[r] = sum;
+        }
+    }
+
+    // out = (I - Q_lower)^-1 in, Q_lower = entri ke kolom yang lebih dulu di order
+    private static void precondition(SparseMatrix m, double[] in, double[] out, boolean[] rowMask, boolean[] columnMask,
+                                     int[] order, int[] rank) {
+        for (int r : order) {
+            double sum = in[r];
+            if (rowMask == null || rowMask[r]) {
+                for (int k = m.rowStart[r]; k < m.rowStart[r + 1]; k++) {
+                    int c = m.column[k];
+                    if (columnMask[c] && rank[c] < rank[r]) sum += m.value[k] * out[c];
+                }
+            }
+            out[r] = sum;
+        }
+    }
+
+    // out = in * P, dihitung per blok node tujuan secara paralel (pull, tanpa race)
+    private void multiply(SparseMatrix m, double[] in, double[] out) {
+        if (stateCount < PARALLEL_THRESHOLD) {
+            m.multiplyRange(in, out, 0, stateCount);
+            return;
+        }
+        int blocks = (stateCount + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        IntStream.range(0, blocks).parallel().forEach(blk ->
+                m.multiplyRange(in, out, blk * BLOCK_SIZE, Math.min(stateCount, (blk + 1) * BLOCK_SIZE)));
+    }
+
+    public static void main(String[] args) {
+        int nodes = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+        Graph graph = GraphVisualizer.createGraph(nodes);
+        List<Ladder> ladders = GraphVisualizer.createLadders(new Random(seed), nodes);
+        ShortcutMode mode = args.length > 2 ? ShortcutMode.parse(args[2]) : ShortcutMode.fromProperty();
+
+        // Argumen ke-4 "moments": tanpa distribusi giliran (cepat untuk papan besar)
+        boolean momentsOnly = args.length > 3 && args[3].equalsIgnoreCase("moments");
+
+        MarkovSolver solver = new MarkovSolver(new TransitionTable(graph, ladders, nodes - 1, mode));
+        MarkovResult result = momentsOnly ? solver.solveMoments() : solver.solve();
+        result.print(System.out);
+        if (momentsOnly) return;
+        for (int players = 2; players <= 6; players++) {
+            System.out.println(players + " players win probability: "
+                    + Arrays.toString(Arrays.stream(result.winProbabilities(players))
+                    .mapToObj(p -> String.format("%.4f", p)).toArray()));
+        }
+    }
+}
+
+// CSR untuk matrix transposed: row = state tujuan, kolom = state asal
+class SparseMatrix {
+    final int size;
+    final int[] rowStart;
+    final int[] column;
+    final double[] value;
+
+    private SparseMatrix(int size, int[] rowStart, int[] column, double[] value) {
+        this.size = size;
+        this.rowStart = rowStart;
+        this.column = column;
+        this.value = value;
+    }
+
+    static SparseMatrix transposed(int size, int[] from, int[] to, double[] prob, int nnz) {
+        int[] rowStart = new int[size + 1];
+        for (int i = 0; i < nnz; i++) rowStart[to[i] + 1]++;
+        for (int i = 0; i < size; i++) rowStart[i + 1] += rowStart[i];
+        int[] fill = Arrays.copyOf(rowStart, size);
+        int[] column = new int[nnz];
+        double[] value = new double[nnz];
+        for (int i = 0; i < nnz; i++) {
+            int slot = fill[to[i]]++;
+            column[slot] = from[i];
+            value[slot] = prob[i];
+        }
+        return new SparseMatrix(size, rowStart, column, value);
+    }
+
+    // Matrix yang sama dengan row/kolom ditukar
+    SparseMatrix transpose() {
+        int nnz = rowStart[size];
+        int[] row = new int[nnz];
+        for (int r = 0; r < size; r++) Arrays.fill(row, rowStart[r], rowStart[r + 1], r);
+        return transposed(size, row, column, value, nnz);
+    }
+
+    void multiplyRange(double[] in, double[] out, int fromRow, int toRow) {
+        for (int r = fromRow; r < toRow; r++) {
+            double sum = 0;
+            for (int k = rowStart[r]; k < rowStart[r + 1]; k++) sum += in[column[k]] * value[k];
+            out[r] = sum;
+        }
+    }
+}
+
+class MarkovResult {
+    // turnProbability[t] = peluang pemain mencapai goal tepat di giliran ke-t
+    // (null untuk hasil solveMoments)
+    double[] turnProbability;
+    // unlockTurnProbability[t] = peluang shortcut terbuka tepat di giliran ke-t
+    double[] unlockTurnProbability;
+    // Ekspektasi jumlah pendaratan (akhir roll) di tiap node sampai goal
+    double[] expectedLandings;
+    double expectedRolls;
+    double unlockedAtGoalProbability;
+    double residualProbability;
+    int stateCount;
+    long elapsedNanos;
+    // Momen giliran dan unlock (dari distribusi, atau langsung dari solveMoments)
+    double meanTurns;
+    double turnVariance;
+    double unlockProbability;
+    double unlockTurnMean;
+    double unlockTurnSpread;
+
+    void computeMoments() {
+        meanTurns = 0;
+        for (int t = 1; t < turnProbability.length; t++) meanTurns += t * turnProbability[t];
+        turnVariance = 0;
+        for (int t = 1; t < turnProbability.length; t++) {
+            turnVariance += (t - meanTurns) * (t - meanTurns) * turnProbability[t];
+        }
+        unlockProbability = 0;
+        for (double p : unlockTurnProbability) unlockProbability += p;
+        unlockTurnMean = 0;
+        unlockTurnSpread = 0;
+        if (unlockProbability == 0) return;
+        for (int t = 1; t < unlockTurnProbability.length; t++) unlockTurnMean += t * unlockTurnProbability[t];
+        unlockTurnMean /= unlockProbability;
+        double sum = 0;
+        for (int t = 1; t < unlockTurnProbability.length; t++) {
+            sum += (t - unlockTurnMean) * (t - unlockTurnMean) * unlockTurnProbability[t];
+        }
+        unlockTurnSpread = Math.sqrt(sum / unlockProbability);
+    }
+
+    double expectedTurns() { return meanTurns; }
+    double turnVariance() { return turnVariance; }
+    double unlockProbability() { return unlockProbability; }
+    // Giliran rata-rata saat shortcut terbuka, untuk pemain yang membukanya
+    double expectedUnlockTurn() { return unlockTurnMean; }
+    // Sebaran (standar deviasi) giliran unlock
+    double unlockTurnSpread() { return unlockTurnSpread; }
+
+    // Peluang pendaratan di node dibanding semua pendaratan
+    double[] occupancy() {
+        double total = 0;
+        for (double v : expectedLandings) total += v;
+        double[] occ = new double[expectedLandings.length];
+        for (int i = 0; i < occ.length; i++) occ[i] = total == 0 ? 0 : expectedLandings[i] / total;
+        return occ;
+    }
+
+    // Pemain independen; pemain i menang di giliran t jika pemain sebelumnya belum selesai
+    // sampai giliran t dan pemain sesudahnya belum selesai sampai giliran t-1
+    double[] winProbabilities(int numPlayers) {
+        if (turnProbability == null) throw new IllegalStateException("Win probabilities need solve(), not solveMoments()");
+        int turns = turnProbability.length;
+        double[] survive = new double[turns];
+        double remaining = 1.0;
+        for (int t = 0; t < turns; t++) {
+            remaining -= turnProbability[t];
+            survive[t] = Math.max(0, remaining);
+        }
+        double[] win = new double[numPlayers];
+        for (int i = 0; i < numPlayers; i++) {
+            for (int t = 1; t < turns; t++) {
+                double p = turnProbability[t];
+                if (p == 0) continue;
+                p *= Math.pow(survive[t], i) * Math.pow(survive[t - 1], numPlayers - 1 - i);
+                win[i] += p;
+            }
+        }
+        return win;
+    }
+
+    void print(java.io.PrintStream out) {
+        out.printf("States: %d, solved in %.3f ms%n", stateCount, elapsedNanos / 1e6);
+        out.printf("Expected turns to goal: %.4f (variance %.4f)%n", expectedTurns(), turnVariance());
+        out.printf("Expected rolls to goal: %.4f%n", expectedRolls);
+        out.printf("P(shortcut unlocked at goal): %.4f%n", unlockedAtGoalProbability);
+        out.printf("Shortcut unlock turn: %.4f (spread %.4f)%n", expectedUnlockTurn(), unlockTurnSpread());
+        if (turnProbability != null) out.printf("Unresolved probability mass: %.3e%n", residualProbability);
+    }
+}
+
+// List int primitif kecil untuk membangun state space tanpa boxing
+class IntList {
+    int[] data = new int[16];
+    int size;
+
+    void add(int v) {
+        if (size == data.length) data = Arrays.copyOf(data, size * 2);
+        data[size++] = v;
+    }
+
+    int get(int i) { return data[i]; }
+}
@@ -0,0 +1,187 @@
+package src;
+
+import java.awt.Color;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// ---------------------------------------------------------
+// NODE HEATMAP
+// ---------------------------------------------------------
+// Counter per node (landing, lewat, mundur, poin) yang dikumpulkan dari banyak
+// game sekaligus. Setiap GameManager atau TableSimulation menulis ke Stripe
+// miliknya sendiri (satu writer, long[] biasa, tanpa atomic/lock), jadi thread
+// simulasi tidak saling berebut cache line. snapshot() menjumlahkan semua
+// stripe; angka bisa sedikit tertinggal jika dibaca sambil game berjalan, cukup
+// untuk heatmap.
+class NodeHeatmap {
+    enum Kind {
+        // Posisi akhir setiap roll
+        LANDINGS("Landings"),
+        // Node yang dilewati di tengah roll (bukan posisi akhir)
+        PASSES("Pass-through"),
+        // Node tujuan setiap langkah mundur
+        BACKTRACKS("Backtracks"),
+        // Total poin yang didapat di node ini
+        POINTS("Points");
+
+        final String label;
+        Kind(String label) { this.label = label; }
+        @Override public String toString() { return label; }
+    }
+
+    static final int KINDS = Kind.values().length;
+
+    final int nodeCount;
+    private final List<Stripe> stripes = new ArrayList<>();
+
+    NodeHeatmap(int nodeCount) {
+        this.nodeCount = nodeCount;
+    }
+
+    // Satu stripe per GameManager (atau per thread); jangan dipakai dua thread sekaligus
+    public synchronized Stripe newStripe() {
+        Stripe stripe = new Stripe(nodeCount);
+        stripes.add(stripe);
+        return stripe;
+    }
+
+    public Snapshot snapshot() {
+        Stripe[] current;
+        synchronized (this) {
+            current = stripes.toArray(new Stripe[0]);
+        }
+        long[] total = new long[nodeCount * KINDS];
+        long games = 0;
+        for (Stripe s : current) {
+            long[] c = s.counts;
+            for (int i = 0; i < total.length; i++) total[i] += c[i];
+            games += s.games;
+        }
+        return new Snapshot(nodeCount, total, games);
+    }
+
+    // Dipasang lewat GameManager.addListener. Langkah yang tertahan (from == to)
+    // tidak dihitung; node terakhir yang dicapai sebuah roll adalah landing, bukan lewat.
+    static class Stripe implements TableListener {
+        private static final int LANDING = 0, PASS = 1, BACKTRACK = 2, POINTS = 3;
+
+        // [node * KINDS + kind]
+        private final long[] counts;
+        private long games;
+        private boolean forward;
+        // Node terakhir yang dicapai roll ini; dihitung lewat jika masih ada langkah setelahnya
+        private int reached = -1;
+
+        private Stripe(int nodeCount) {
+            counts = new long[nodeCount * KINDS];
+        }
+
+        @Override
+        public void gameStarted(GameManager game) {
+            games++;
+            reached = -1;
+        }
+
+        @Override
+        public void tableStarted(int table) {
+            games++;
+            reached = -1;
+        }
+
+        @Override
+        public void rolled(int seat, int dice, boolean forward) {
+            this.forward = forward;
+            reached = -1;
+        }
+
+        @Override
+        public void stepped(int seat, int from, int to) {
+            if (from == to) return;
+            if (reached >= 0) counts[reached * KINDS + PASS]++;
+            reached = to;
+            if (!forward) counts[to * KINDS + BACKTRACK]++;
+        }
+
+        @Override
+        public void scored(int seat, int node, int points) {
+            counts[node * KINDS + LANDING]++;
+            counts[node * KINDS + POINTS] += points;
+            reached = -1;
+        }
+    }
+
+    // Hasil agregasi (immutable) beserta nilai maksimum per jenis untuk skala warna
+    static class Snapshot {
+        final int nodeCount;
+        final long games;
+        // Jumlah semua counter; berubah jika ada event baru
+        final long total;
+        private final long[] counts;
+        private final long[] max = new long[KINDS];
+
+        private Snapshot(int nodeCount, long[] counts, long games) {
+            this.nodeCount = nodeCount;
+            this.counts = counts;
+            this.games = games;
+            long sum = 0;
+            for (int i = 0; i < counts.length; i++) {
+                int kind = i % KINDS;
+                if (counts[i] > max[kind]) max[kind] = counts[i];
+                sum += counts[i];
+            }
+            this.total = sum;
+        }
+
+        public long get(int node, Kind kind) { return counts[node * KINDS + kind.ordinal()]; }
+        public long max(Kind kind) { return max[kind.ordinal()]; }
+
+        // 0..1 relatif terhadap node terpanas (skala akar supaya node jarang tetap terlihat)
+        public double intensity(int node, Kind kind) {
+            long m = max[kind.ordinal()];
+            return m == 0 ? 0 : Math.sqrt((double) get(node, kind) / m);
+        }
+
+        // Node dengan nilai tertinggi, urut turun
+        public int[] hottest(Kind kind, int limit) {
+            int n = Math.min(limit, nodeCount);
+            int[] top = new int[n];
+            int size = 0;
+            for (int node = 0; node < nodeCount; node++) {
+                long v = get(node, kind);
+                if (v == 0 || (size == n && get(top[n - 1], kind) >= v)) continue;
+                int pos = size < n ? size++ : n - 1;
+                while (pos > 0 && get(top[pos - 1], kind) < v) {
+                    top[pos] = top[pos - 1];
+                    pos--;
+                }
+                top[pos] = node;
+            }
+            return Arrays.copyOf(top, size);
+        }
+
+        void print(PrintStream out, int limit) {
+            out.println("Node heatmap (" + games + " games), node label = index + 1:");
+            for (Kind kind : Kind.values()) {
+                StringBuilder sb = new StringBuilder(String.format("  %-13s", kind.label));
+                for (int node : hottest(kind, limit)) sb.append(' ').append(node + 1).append('=').append(get(node, kind));
+                out.println(sb);
+            }
+        }
+    }
+
+    // Palet biru (dingin) -> merah (panas), semi transparan; dibuat sekali
+    static final Color[] PALETTE = new Color[64];
+    static {
+        for (int i = 0; i < PALETTE.length; i++) {
+            float t = i / (float) (PALETTE.length - 1);
+            Color c = Color.getHSBColor(0.66f * (1 - t), 0.9f, 1f);
+            PALETTE[i] = new Color(c.getRed(), c.getGreen(), c.getBlue(), 60 + (int) (150 * t));
+        }
+    }
+
+    static Color color(double intensity) {
+        return PALETTE[(int) Math.round(Math.max(0, Math.min(1, intensity)) * (PALETTE.length - 1))];
+    }
+}
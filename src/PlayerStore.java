@@ -0,0 +1,364 @@
+package src;
+
+import java.util.Arrays;
+
+// ---------------------------------------------------------
+// PLAYER STORE (STRUCTURE OF ARRAYS)
+// ---------------------------------------------------------
+// State pemain dalam kolom primitif, untuk simulasi jutaan pemain sekaligus.
+// Satu pemain = satu index: posisi, jumlah roll, skor, flag shortcut, dan path
+// berupa slice (start, size, capacity) di satu pool int[] bersama. Tanpa
+// objek per pemain (Player punya String, Color, IntRing). Aturan giliran
+// (TurnRules) bekerja di atas store ini, baik untuk TableSimulation maupun
+// GameManager (store kecil per meja, Player sebagai view); toPlayer membuat
+// view untuk UI.
+class PlayerStore {
+    static final byte UNLOCKED = 1;
+    private static final int INITIAL_PATH = 8;
+
+    final int size;
+    final int[] position;
+    final int[] rollCount;
+    final int[] score;
+    final byte[] flags;
+    // Path pemain i: pathPool[pathStart[i] .. pathStart[i] + pathSize[i]);
+    // kapasitas slice selalu INITIAL_PATH * 2^k
+    final int[] pathStart;
+    final int[] pathSize;
+    final int[] pathCapacity;
+    private int[] pathPool;
+    private int poolTop;
+    // Slice bebas per kelas ukuran (index k = kapasitas INITIAL_PATH << k), dipakai ulang sebelum pool ditambah
+    private IntStack[] freeSlices = new IntStack[0];
+
+    PlayerStore(int size) {
+        this.size = size;
+        position = new int[size];
+        rollCount = new int[size];
+        score = new int[size];
+        flags = new byte[size];
+        pathStart = new int[size];
+        pathSize = new int[size];
+        pathCapacity = new int[size];
+        pathPool = new int[size * INITIAL_PATH];
+        for (int i = 0; i < size; i++) {
+            pathStart[i] = allocate(INITIAL_PATH);
+            pathCapacity[i] = INITIAL_PATH;
+            reset(i);
+        }
+    }
+
+    // Pemain kembali ke node 0; slice besar dari game sebelumnya dikembalikan
+    void reset(int p) {
+        position[p] = 0;
+        rollCount[p] = 0;
+        score[p] = 0;
+        flags[p] = 0;
+        if (pathCapacity[p] != INITIAL_PATH) {
+            release(pathStart[p], pathCapacity[p]);
+            pathStart[p] = allocate(INITIAL_PATH);
+            pathCapacity[p] = INITIAL_PATH;
+        }
+        pathPool[pathStart[p]] = 0;
+        pathSize[p] = 1;
+    }
+
+    boolean isUnlocked(int p) { return (flags[p] & UNLOCKED) != 0; }
+    void unlock(int p) { flags[p] |= UNLOCKED; }
+
+    int pathPeek(int p) { return pathPool[pathStart[p] + pathSize[p] - 1]; }
+    void pathPop(int p) { pathSize[p]--; }
+
+    void pathPush(int p, int node) {
+        if (pathSize[p] == pathCapacity[p]) growPath(p);
+        pathPool[pathStart[p] + pathSize[p]++] = node;
+    }
+
+    // Slice penuh dipindah ke slice kelas berikutnya (dua kali lipat); yang lama masuk free list
+    private void growPath(int p) {
+        int capacity = pathCapacity[p] * 2;
+        int start = allocate(capacity);
+        System.arraycopy(pathPool, pathStart[p], pathPool, start, pathSize[p]);
+        release(pathStart[p], pathCapacity[p]);
+        pathStart[p] = start;
+        pathCapacity[p] = capacity;
+    }
+
+    private static int sizeClass(int capacity) {
+        return Integer.numberOfTrailingZeros(capacity / INITIAL_PATH);
+    }
+
+    private int allocate(int capacity) {
+        int k = sizeClass(capacity);
+        if (k < freeSlices.length && !freeSlices[k].isEmpty()) return freeSlices[k].pop();
+        if (poolTop + capacity > pathPool.length) {
+            pathPool = Arrays.copyOf(pathPool, Math.max(pathPool.length + pathPool.length / 2, poolTop + capacity));
+        }
+        int start = poolTop;
+        poolTop += capacity;
+        return start;
+    }
+
+    private void release(int start, int capacity) {
+        int k = sizeClass(capacity);
+        if (k >= freeSlices.length) {
+            int old = freeSlices.length;
+            freeSlices = Arrays.copyOf(freeSlices, k + 1);
+            for (int i = old; i <= k; i++) freeSlices[i] = new IntStack();
+        }
+        freeSlices[k].push(start);
+    }
+
+    // Perkiraan memori kolom + pool (byte)
+    long memoryBytes() {
+        return (long) size * (4 * 6 + 1) + 4L * pathPool.length;
+    }
+
+    // View untuk UI: Player baru dengan state pemain p (seat = urutan di meja)
+    Player toPlayer(int p, int seat) {
+        Player player = new Player("Player " + (seat + 1),
+                GameManager.PLAYER_COLORS[seat % GameManager.PLAYER_COLORS.length], position[p]);
+        player.seat = seat;
+        player.rollCount = rollCount[p];
+        player.totalScore = score[p];
+        player.isShortestPathActive = isUnlocked(p);
+        return player;
+    }
+}
+
+// Aturan satu giliran untuk pemain p di PlayerStore, satu-satunya tempat aturan
+// ini ditulis. GameManager (langkah dihitung saat roll lalu dianimasikan) dan
+// TableSimulation (langsung) memanggil method yang sama dalam urutan yang sama:
+// beginRoll, step sebanyak nilai dadu, finishTurn, lalu keepsTurn untuk giliran.
+class TurnRules {
+    // Hasil finishTurn
+    static final int UNLOCKED_NOW = 1;
+
+    final int goal;
+    private final int[] lockedStep;
+    private final int[] unlockedStep;
+    private final int[] jump;
+    private final boolean[] prime;
+
+    TurnRules(TransitionTable transitions) {
+        this.goal = transitions.goal;
+        this.lockedStep = transitions.lockedStep;
+        this.unlockedStep = transitions.unlockedStep;
+        this.jump = transitions.jump;
+        // isPrime(node + 1) dihitung sekali per node, bukan setiap giliran
+        prime = new boolean[transitions.nodeCount];
+        for (int i = 0; i < prime.length; i++) prime[i] = isPrime(i + 1);
+    }
+
+    private static boolean isPrime(int n) {
+        if (n <= 1) return false;
+        for (int i = 2; i <= Math.sqrt(n); i++) if (n % i == 0) return false;
+        return true;
+    }
+
+    // Roll baru: jumlah roll naik sebelum langkah (unlock butuh roll ke-2)
+    void beginRoll(PlayerStore s, int p) {
+        s.rollCount[p]++;
+    }
+
+    // Tabel langkah maju sesuai status shortcut saat roll
+    int[] steps(PlayerStore s, int p) {
+        return s.isUnlocked(p) ? unlockedStep : lockedStep;
+    }
+
+    // Satu langkah dari pos (= position[p], dibawa pemanggil supaya loop langkah
+    // tidak membaca ulang kolom): maju ke node berikut (dicatat di path jika
+    // pindah), mundur pop path (di node 0 tetap 0). Posisi baru ditulis ke store
+    // dan dikembalikan.
+    int step(PlayerStore s, int p, int pos, int[] steps, boolean forward) {
+        if (forward) {
+            int next = steps[pos];
+            if (next != pos) s.pathPush(p, next);
+            pos = next;
+        } else if (s.pathSize[p] > 1) {
+            s.pathPop(p);
+            pos = s.pathPeek(p);
+        } else {
+            pos = 0;
+        }
+        s.position[p] = pos;
+        return pos;
+    }
+
+    // Langkah maju dengan shortcut aktif yang memakai ladder dari node from
+    boolean isLadder(int from, int to, boolean forward, boolean unlocked) {
+        return forward && unlocked && to != from && jump[from] == to;
+    }
+
+    boolean isGoal(int node) { return node == goal; }
+
+    // Akhir giliran: poin node ditambahkan, shortcut terbuka di node prima (node + 1) mulai roll ke-2
+    int finishTurn(PlayerStore s, int p, int points) {
+        s.score[p] += points;
+        int node = s.position[p];
+        if (prime[node] && s.rollCount[p] >= 2 && !s.isUnlocked(p)) {
+            s.unlock(p);
+            return UNLOCKED_NOW;
+        }
+        return 0;
+    }
+
+    // Giliran bonus di node kelipatan 5 (kecuali goal)
+    boolean keepsTurn(int node) {
+        return (node + 1) % 5 == 0 && node != goal;
+    }
+}
+
+// Banyak meja sekaligus di atas satu PlayerStore, bergiliran satu roll per
+// meja, dengan TurnRules yang sama dengan GameManager (tanpa animasi). Meja t
+// memakai pemain t * players .. t * players + players - 1. Dadu SEEDED dihitung
+// inline dari kolom state SplitMix (algoritma SplittableRandom), jadi tanpa
+// objek dadu per meja dan hasilnya identik dengan SimulationEngine biasa.
+class TableSimulation {
+    private static final long GOLDEN_GAMMA = SeededDice.GOLDEN_GAMMA;
+    private static final int NO_WINNER = -1;
+
+    final PlayerStore store;
+    final int tables;
+    final int players;
+    private final TurnRules rules;
+    private final int[] nodeScores;
+
+    // Kolom per meja
+    private final int[] currentSeat;
+    private final int[] winner;
+    private final long[] rolls;
+    private final long[] rngState;
+
+    // null = pakai rngState (SEEDED, reseed per game)
+    private final DiceSource dice;
+    private final long seed;
+    private TableListener listener;
+
+    TableSimulation(TransitionTable transitions, int[] nodeScores, int tables, int players, DiceSource dice, long seed) {
+        this.tables = tables;
+        this.players = players;
+        this.store = new PlayerStore(tables * players);
+        this.rules = new TurnRules(transitions);
+        this.nodeScores = nodeScores;
+        this.dice = dice;
+        this.seed = seed;
+        currentSeat = new int[tables];
+        winner = new int[tables];
+        rolls = new long[tables];
+        rngState = new long[tables];
+    }
+
+    // Event dengan seat di dalam meja; dipanggil untuk semua meja (mis. Stripe heatmap)
+    void setListener(TableListener listener) { this.listener = listener; }
+
+    // Mainkan game firstGame .. firstGame + count - 1 (index global untuk seed)
+    SimulationResult run(long firstGame, long count) {
+        SimulationResult result = new SimulationResult(players);
+        long nextGame = firstGame;
+        long end = firstGame + count;
+        int active = 0;
+        boolean[] playing = new boolean[tables];
+        for (int t = 0; t < tables && nextGame < end; t++) {
+            startGame(t, nextGame++);
+            playing[t] = true;
+            active++;
+        }
+        while (active > 0) {
+            for (int t = 0; t < tables; t++) {
+                if (!playing[t]) continue;
+                if (winner[t] == NO_WINNER && rolls[t] < SimulationEngine.MAX_ROLLS_PER_GAME) {
+                    playRoll(t);
+                    rolls[t]++;
+                    continue;
+                }
+                record(t, result);
+                if (nextGame < end) {
+                    startGame(t, nextGame++);
+                } else {
+                    playing[t] = false;
+                    active--;
+                }
+            }
+        }
+        return result;
+    }
+
+    private void startGame(int t, long game) {
+        int base = t * players;
+        for (int s = 0; s < players; s++) store.reset(base + s);
+        currentSeat[t] = 0;
+        winner[t] = NO_WINNER;
+        rolls[t] = 0;
+        // Sama dengan SeededDice.reseed di SimulationEngine.runBatch
+        rngState[t] = SeededDice.deriveSeed(seed, game);
+        if (listener != null) listener.tableStarted(t);
+    }
+
+    private void record(int t, SimulationResult result) {
+        result.games++;
+        result.totalRolls += rolls[t];
+        if (winner[t] == NO_WINNER) {
+            result.unfinished++;
+            return;
+        }
+        int p = t * players + winner[t];
+        result.recordWinner(winner[t], store.rollCount[p], store.score[p]);
+    }
+
+    private int roll(int t) {
+        if (dice != null) return dice.roll();
+        return DiceSource.fromUniform30(nextInt(t, DiceSource.SIDES * DiceSource.DIRECTIONS));
+    }
+
+    // SplittableRandom.nextInt(bound) di atas rngState[t]
+    private int nextInt(int t, int bound) {
+        int r = mix32(rngState[t] += GOLDEN_GAMMA);
+        int m = bound - 1;
+        for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = mix32(rngState[t] += GOLDEN_GAMMA) >>> 1) { }
+        return r;
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    // Satu giliran penuh meja t: roll, semua langkah, skor, shortcut, giliran berikutnya
+    private void playRoll(int t) {
+        PlayerStore s = store;
+        TurnRules r = rules;
+        int seat = currentSeat[t];
+        int p = t * players + seat;
+        r.beginRoll(s, p);
+        int packed = roll(t);
+        int value = DiceSource.value(packed);
+        boolean forward = DiceSource.isForward(packed);
+        if (listener != null) listener.rolled(seat, value, forward);
+
+        boolean unlocked = s.isUnlocked(p);
+        int[] steps = r.steps(s, p);
+        int pos = s.position[p];
+        for (int i = 0; i < value; i++) {
+            int from = pos;
+            pos = r.step(s, p, pos, steps, forward);
+            if (r.isGoal(pos) && winner[t] == NO_WINNER) winner[t] = seat;
+            if (listener != null) {
+                listener.stepped(seat, from, pos);
+                if (r.isLadder(from, pos, forward, unlocked)) listener.ladderTaken(seat, from, pos);
+            }
+        }
+
+        int points = pos < nodeScores.length ? nodeScores[pos] : 1;
+        if (listener != null) listener.scored(seat, pos, points);
+        if (r.finishTurn(s, p, points) == TurnRules.UNLOCKED_NOW && listener != null) listener.shortcutUnlocked(seat);
+        if (r.isGoal(pos) && listener != null) listener.won(seat);
+        if (!r.keepsTurn(pos)) currentSeat[t] = seat + 1 == players ? 0 : seat + 1;
+        if (listener != null) listener.turnChanged(seat, currentSeat[t]);
+    }
+
+    // View UI untuk pemain seat di meja t
+    Player toPlayer(int t, int seat) {
+        return store.toPlayer(t * players + seat, seat);
+    }
+}
@@ -0,0 +1,235 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// ---------------------------------------------------------
+// HEADLESS SIMULATION ENGINE
+// ---------------------------------------------------------
+// Memainkan game penuh tanpa Swing/animasi, dibagi ke semua core.
+// Setiap thread punya GameManager, ScoreManager dan DiceSource sendiri.
+class SimulationEngine {
+    static final int SCORE_BUCKET = 10;
+    static final int MAX_ROLLS_PER_GAME = 100_000;
+
+    enum Dice {
+        // SeededDice di-reseed per game: hasil sama berapa pun jumlah thread
+        SEEDED,
+        // BulkDice per thread (split dari seed): tercepat, hasil tergantung jumlah thread
+        BULK,
+        // java.util.Random per thread seperti sebelumnya
+        RANDOM
+    }
+
+    private final Graph graph;
+    private final List<Ladder> ladders;
+    private final int numPlayers;
+    private final int threads;
+    private final long seed;
+    private ShortcutMode shortcutMode = ShortcutMode.LADDER;
+    private Dice dice = Dice.SEEDED;
+    private NodeHeatmap heatmap;
+    private int[] nodeScores;
+    private int tables;
+
+    public SimulationEngine(Graph graph, List<Ladder> ladders, int numPlayers, int threads, long seed) {
+        this.graph = graph;
+        this.ladders = ladders;
+        this.numPlayers = numPlayers;
+        this.threads = Math.max(1, threads);
+        this.seed = seed;
+    }
+
+    public void setShortcutMode(ShortcutMode shortcutMode) { this.shortcutMode = shortcutMode; }
+    public void setDice(Dice dice) { this.dice = dice; }
+    // Setiap thread menulis ke stripe sendiri
+    public void setHeatmap(NodeHeatmap heatmap) { this.heatmap = heatmap; }
+    // Node score papan tertentu (mis. papan GUI); default acak dari seed
+    public void setNodeScores(int[] nodeScores) { this.nodeScores = nodeScores; }
+    // > 0: setiap thread memainkan sekian meja sekaligus di PlayerStore (TableSimulation)
+    // alih-alih satu GameManager; 0 = GameManager seperti biasa
+    public void setTables(int tables) { this.tables = Math.max(0, tables); }
+
+    public SimulationResult run(long games) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            List<Future<SimulationResult>> futures = new ArrayList<>();
+            long perThread = games / threads;
+            long remainder = games % threads;
+            SplittableRandom root = new SplittableRandom(seed);
+            long firstGame = 0;
+            for (int t = 0; t < threads; t++) {
+                long count = perThread + (t < remainder ? 1 : 0);
+                long first = firstGame;
+                DiceSource threadDice = createDice(t, root);
+                futures.add(pool.submit(() -> runBatch(first, count, threadDice)));
+                firstGame += count;
+            }
+            SimulationResult total = new SimulationResult(numPlayers);
+            for (Future<SimulationResult> f : futures) total.merge(f.get());
+            total.elapsedNanos = System.nanoTime() - start;
+            return total;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Dibuat berurutan di thread pemanggil supaya split() deterministik
+    private DiceSource createDice(int thread, SplittableRandom root) {
+        switch (dice) {
+            case BULK:
+                return new BulkDice(root.split(), 4096);
+            case RANDOM:
+                return new RandomDice(new Random(SeededDice.deriveSeed(seed, thread)));
+            default:
+                return new SeededDice(seed);
+        }
+    }
+
+    private SimulationResult runBatch(long firstGame, long count, DiceSource threadDice) {
+        // Node score memakai seed yang sama di semua thread supaya papan identik
+        ScoreManager scoreManager = nodeScores != null ? new ScoreManager(nodeScores)
+                : new ScoreManager(graph.size, new Random(seed));
+        if (tables > 0) return runTables(firstGame, count, threadDice, scoreManager.copyNodeScores());
+        GameManager gameManager = new GameManager(scoreManager, threadDice);
+        if (heatmap != null) gameManager.addListener(heatmap.newStripe());
+        SeededDice perGame = threadDice instanceof SeededDice ? (SeededDice) threadDice : null;
+        gameManager.setGraph(graph);
+        gameManager.setLadders(ladders);
+        gameManager.setShortcutMode(shortcutMode);
+
+        SimulationResult result = new SimulationResult(numPlayers);
+        for (long g = 0; g < count; g++) {
+            if (perGame != null) perGame.reseed(SeededDice.deriveSeed(seed, firstGame + g));
+            gameManager.resetGame(numPlayers);
+            scoreManager.resetScores(gameManager.getAllPlayers());
+
+            long rolls = 0;
+            while (gameManager.getWinner() == null && rolls < MAX_ROLLS_PER_GAME) {
+                if (gameManager.playRoll() < 0) break;
+                rolls++;
+            }
+            result.record(gameManager, rolls);
+        }
+        return result;
+    }
+
+    private SimulationResult runTables(long firstGame, long count, DiceSource threadDice, int[] scores) {
+        TransitionTable transitions = new TransitionTable(graph, ladders, graph.size - 1, shortcutMode);
+        int batchTables = (int) Math.max(1, Math.min(tables, count));
+        // SEEDED dihitung inline per meja; mode lain berbagi dadu thread
+        DiceSource tableDice = dice == Dice.SEEDED ? null : threadDice;
+        TableSimulation simulation = new TableSimulation(transitions, scores, batchTables, numPlayers, tableDice, seed);
+        if (heatmap != null) simulation.setListener(heatmap.newStripe());
+        return simulation.run(firstGame, count);
+    }
+
+    public static void main(String[] args) throws Exception {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        int boardSize = args.length > 4 ? Integer.parseInt(args[4]) : 8;
+        ShortcutMode mode = args.length > 5 ? ShortcutMode.parse(args[5]) : ShortcutMode.fromProperty();
+        Dice dice = args.length > 6 ? Dice.valueOf(args[6].toUpperCase()) : Dice.SEEDED;
+
+        int nodeCount = boardSize * boardSize;
+        Graph graph = GraphVisualizer.createGraph(nodeCount);
+        List<Ladder> ladders = GraphVisualizer.createLadders(new Random(seed), nodeCount);
+        SimulationEngine engine = new SimulationEngine(graph, ladders, players, threads, seed);
+        engine.setShortcutMode(mode);
+        engine.setDice(dice);
+        // -Dgame.heatmap=true: cetak node yang paling sering didarati/dilewati/mundur
+        NodeHeatmap heatmap = Boolean.getBoolean("game.heatmap") ? new NodeHeatmap(nodeCount) : null;
+        engine.setHeatmap(heatmap);
+        // -Dgame.tables=N: N meja sekaligus per thread di PlayerStore (structure of arrays)
+        engine.setTables(Integer.getInteger("game.tables", 0));
+
+        System.out.println("Simulating " + games + " games, " + players + " players, "
+                + threads + " threads, seed " + seed + ", shortcut " + mode + ", dice " + dice);
+        SimulationResult result = engine.run(games);
+        result.print(System.out);
+        if (heatmap != null) heatmap.snapshot().print(System.out, 8);
+    }
+}
+
+class SimulationResult {
+    long games;
+    long unfinished;
+    long totalRolls;
+    long totalWinnerRolls;
+    long totalWinnerScore;
+    long[] winsBySeat;
+    long[] winnerScoreHistogram = new long[32];
+    long elapsedNanos;
+
+    SimulationResult(int numPlayers) {
+        winsBySeat = new long[numPlayers];
+    }
+
+    void record(GameManager gameManager, long rolls) {
+        games++;
+        totalRolls += rolls;
+        Player winner = gameManager.getWinner();
+        if (winner == null) {
+            unfinished++;
+            return;
+        }
+        recordWinner(gameManager.getAllPlayers().indexOf(winner), winner.rollCount, winner.totalScore);
+    }
+
+    void recordWinner(int seat, int rollCount, int score) {
+        totalWinnerRolls += rollCount;
+        totalWinnerScore += score;
+        winsBySeat[seat]++;
+        int bucket = score / SimulationEngine.SCORE_BUCKET;
+        if (bucket >= winnerScoreHistogram.length) {
+            winnerScoreHistogram = Arrays.copyOf(winnerScoreHistogram, bucket * 2);
+        }
+        winnerScoreHistogram[bucket]++;
+    }
+
+    void merge(SimulationResult other) {
+        games += other.games;
+        unfinished += other.unfinished;
+        totalRolls += other.totalRolls;
+        totalWinnerRolls += other.totalWinnerRolls;
+        totalWinnerScore += other.totalWinnerScore;
+        for (int i = 0; i < winsBySeat.length; i++) winsBySeat[i] += other.winsBySeat[i];
+        if (other.winnerScoreHistogram.length > winnerScoreHistogram.length) {
+            winnerScoreHistogram = Arrays.copyOf(winnerScoreHistogram, other.winnerScoreHistogram.length);
+        }
+        for (int i = 0; i < other.winnerScoreHistogram.length; i++) winnerScoreHistogram[i] += other.winnerScoreHistogram[i];
+    }
+
+    double gamesPerSecond() { return games / (elapsedNanos / 1e9); }
+    double averageTurnsToWin() { return finished() == 0 ? 0 : (double) totalWinnerRolls / finished(); }
+    double averageRollsPerGame() { return games == 0 ? 0 : (double) totalRolls / games; }
+    double averageWinnerScore() { return finished() == 0 ? 0 : (double) totalWinnerScore / finished(); }
+    long finished() { return games - unfinished; }
+
+    void print(java.io.PrintStream out) {
+        out.printf("Games: %d (%d unfinished) in %.2f s -> %.0f games/sec%n",
+                games, unfinished, elapsedNanos / 1e9, gamesPerSecond());
+        out.printf("Average turns to win (winner rolls): %.2f%n", averageTurnsToWin());
+        out.printf("Average rolls per game (all players): %.2f%n", averageRollsPerGame());
+        out.printf("Average winner score: %.2f%n", averageWinnerScore());
+        for (int i = 0; i < winsBySeat.length; i++) {
+            out.printf("  Player %d wins: %.2f%%%n", i + 1, 100.0 * winsBySeat[i] / Math.max(1, finished()));
+        }
+        out.println("Winner score distribution:");
+        for (int i = 0; i < winnerScoreHistogram.length; i++) {
+            if (winnerScoreHistogram[i] == 0) continue;
+            out.printf("  %4d-%-4d %6.2f%%%n", i * SimulationEngine.SCORE_BUCKET,
+                    (i + 1) * SimulationEngine.SCORE_BUCKET - 1,
+                    100.0 * winnerScoreHistogram[i] / Math.max(1, finished()));
+        }
+    }
+}
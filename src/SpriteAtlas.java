@@ -0,0 +1,107 @@
+package src;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// ---------------------------------------------------------
+// SPRITE ATLAS
+// ---------------------------------------------------------
+// Pion + outline warna player sudah di-scale dan digabung di ukuran akhir,
+// jadi satu pion = satu blit tanpa scaling saat paint.
+class SpriteAtlas {
+    private final BufferedImage pawnImage;
+    private final int pawnWidth;
+    private final int pawnHeight;
+    private final int outline;
+    private final Map<Color, BufferedImage> pawns = new ConcurrentHashMap<>();
+    private BufferedImage hole;
+
+    public SpriteAtlas(BufferedImage pawnImage, int pawnWidth, int pawnHeight, int outline,
+                       BufferedImage holeImage, int holeSize, Color[] colors) {
+        this.pawnImage = pawnImage;
+        this.pawnWidth = pawnWidth;
+        this.pawnHeight = pawnHeight;
+        this.outline = outline;
+        if (holeImage != null) hole = scale(holeImage, holeSize, holeSize);
+        if (pawnImage != null) {
+            BufferedImage scaled = scale(pawnImage, pawnWidth, pawnHeight);
+            // Generate semua warna paralel saat startup
+            Arrays.stream(colors).parallel().forEach(c -> pawns.put(c, composePawn(scaled, c)));
+        }
+    }
+
+    // Sprite pion sudah termasuk outline; gambar di (x - outline, y - outline)
+    public BufferedImage getPawn(Color color) {
+        if (pawnImage == null) return null;
+        return pawns.computeIfAbsent(color, c -> composePawn(scale(pawnImage, pawnWidth, pawnHeight), c));
+    }
+
+    public BufferedImage getHole() { return hole; }
+    public int getOutline() { return outline; }
+
+    private BufferedImage composePawn(BufferedImage scaledPawn, Color color) {
+        int t = outline;
+        BufferedImage silhouette = createSilhouette(scaledPawn, color);
+        BufferedImage sprite = createImage(pawnWidth + 2 * t, pawnHeight + 2 * t);
+        Graphics2D g2 = sprite.createGraphics();
+        try {
+            // Outline digeser ke 8 arah untuk efek stroke, lalu pion asli di atasnya
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    if (dx == 0 && dy == 0) continue;
+                    g2.drawImage(silhouette, t + dx * t, t + dy * t, null);
+                }
+            }
+            g2.drawImage(scaledPawn, t, t, null);
+        } finally {
+            g2.dispose();
+        }
+        return sprite;
+    }
+
+    // Silhouette dengan operasi raster sekaligus (bukan getRGB/setRGB per pixel)
+    static BufferedImage createSilhouette(BufferedImage source, Color color) {
+        int w = source.getWidth();
+        int h = source.getHeight();
+        int[] pixels = source.getRGB(0, 0, w, h, null, 0, w);
+        int rgb = color.getRGB() & 0x00ffffff;
+        for (int i = 0; i < pixels.length; i++) {
+            int alpha = pixels[i] >>> 24;
+            // Alpha asli dipertahankan untuk antialiasing, warna diganti warna player
+            pixels[i] = alpha > 10 ? (alpha << 24) | rgb : 0;
+        }
+        BufferedImage silhouette = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        silhouette.setRGB(0, 0, w, h, pixels, 0, w);
+        return silhouette;
+    }
+
+    static BufferedImage scale(BufferedImage source, int w, int h) {
+        BufferedImage scaled = createImage(w, h);
+        Graphics2D g2 = scaled.createGraphics();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2.drawImage(source, 0, 0, w, h, null);
+        } finally {
+            g2.dispose();
+        }
+        return scaled;
+    }
+
+    private static BufferedImage createImage(int w, int h) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return gc.createCompatibleImage(w, h, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+}
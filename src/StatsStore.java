@@ -0,0 +1,541 @@
+package src;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+// ---------------------------------------------------------
+// STATS STORE
+// ---------------------------------------------------------
+// Statistik sesi yang bertahan antar restart (kiosk): jumlah menang, riwayat
+// skor per pemain, dan hasil per papan. Isinya tiga file di satu direktori:
+//   stats.snapshot : seluruh state teragregasi sampai seq tertentu
+//   stats.log      : record GAME append-only setelah snapshot
+//   board.seed     : seed papan GUI (teks), dibuat acak sekali; papan yang sama
+//                    setelah restart berarti boardId yang sama, jadi jumlah
+//                    papan di stats hanya bertambah jika seed diganti
+// recordGame/getWinCount hanya menyentuh state di memori; record diantrekan
+// dan ditulis batch (satu write + satu fsync) oleh thread stats-writer. Jika
+// log melewati compactBytes, writer menulis snapshot baru (file sementara +
+// atomic move) lalu mengosongkan log. Saat start, snapshot dibaca lalu log
+// diputar ulang; record dengan seq <= snapshot dilewati (crash di antara move
+// dan truncate) dan ekor log yang sobek/CRC salah dibuang.
+//
+// Log: header [magic i32][version u16], lalu record [length i32][crc32 i32][payload]:
+//   GAME : [type u8][seq i64][time i64][boardId i64][winnerSeat u8][winnerRolls i32]
+//          [players u8]([nameLength u16][name UTF-8][score i32])*
+class StatsStore implements AutoCloseable {
+    static final int LOG_MAGIC = 0x53535441; // "SSTA"
+    static final int SNAPSHOT_MAGIC = 0x53534E50; // "SSNP"
+    static final short VERSION = 1;
+    static final int LOG_HEADER_SIZE = 6;
+    static final byte GAME = 1;
+    // Skor terakhir yang disimpan per pemain
+    static final int HISTORY = 50;
+
+    private final Path logFile;
+    private final Path snapshotFile;
+    private final long compactBytes;
+    private final long boardSeed;
+    private final FileChannel log;
+    private final ScheduledExecutorService writer;
+
+    // State untuk pembaca (EDT); hanya dikunci sebentar, tidak pernah saat I/O
+    private final Stats live;
+    // Salinan milik thread writer: hanya berisi record yang sudah ada di log
+    private final Stats durable;
+    private final Queue<GameRecord> queue = new ConcurrentLinkedQueue<>();
+    // Record yang gagal ditulis, dicoba lagi di flush berikutnya (hanya thread writer)
+    private final List<GameRecord> unwritten = new ArrayList<>();
+    private long logSize;
+    private long recoveredRecords;
+    private long recoveryNanos;
+    private boolean closed;
+
+    public static StatsStore open(Path dir) throws IOException {
+        return new StatsStore(dir, 200, 1 << 20);
+    }
+
+    StatsStore(Path dir, long flushMillis, long compactBytes) throws IOException {
+        long start = System.nanoTime();
+        Files.createDirectories(dir);
+        this.logFile = dir.resolve("stats.log");
+        this.snapshotFile = dir.resolve("stats.snapshot");
+        this.compactBytes = compactBytes;
+        this.boardSeed = readBoardSeed(dir.resolve("board.seed"));
+        this.durable = readSnapshot();
+        this.log = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        replayLog();
+        this.live = durable.copy();
+        this.recoveryNanos = System.nanoTime() - start;
+
+        writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "stats-writer");
+            t.setDaemon(true);
+            return t;
+        });
+        writer.scheduleWithFixedDelay(this::flushQuietly, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // --- API (tanpa I/O, aman dipanggil dari EDT) ---
+
+    // names/scores dalam urutan seat; winnerSeat -1 = game tanpa pemenang
+    public void recordGame(long boardId, String[] names, int[] scores, int winnerSeat, int winnerRolls) {
+        GameRecord record;
+        synchronized (live) {
+            record = new GameRecord(live.lastSeq + 1, System.currentTimeMillis(), boardId,
+                    names.clone(), scores.clone(), winnerSeat, winnerRolls);
+            live.apply(record);
+            // Masuk antrean di dalam lock supaya urutan antrean = urutan seq
+            queue.add(record);
+        }
+    }
+
+    public int getWinCount(String name) {
+        synchronized (live) {
+            PlayerStats p = live.players.get(name);
+            return p == null ? 0 : p.wins;
+        }
+    }
+
+    public PlayerStats getPlayer(String name) {
+        synchronized (live) {
+            PlayerStats p = live.players.get(name);
+            return p == null ? null : p.copy();
+        }
+    }
+
+    public BoardStats getBoard(long boardId) {
+        synchronized (live) {
+            BoardStats b = live.boards.get(boardId);
+            return b == null ? null : b.copy();
+        }
+    }
+
+    public long getBoardSeed() { return boardSeed; }
+    public long getRecoveredRecords() { return recoveredRecords; }
+    public long getRecoveryMicros() { return recoveryNanos / 1000; }
+
+    // Identitas papan: ukuran, ladder dan node score (papan yang sama = id yang sama).
+    // Stabil antar restart selama papan dibuat dari seed yang sama (getBoardSeed).
+    static long boardId(int nodeCount, List<Ladder> ladders, int[] nodeScores) {
+        long h = 0xCBF29CE484222325L;
+        h = mix(h, nodeCount);
+        for (Ladder l : ladders) h = mix(mix(h, l.startIdx), l.endIdx);
+        for (int score : nodeScores) h = mix(h, score);
+        return h;
+    }
+
+    private static long mix(long h, int value) {
+        return (h ^ value) * 0x100000001B3L;
+    }
+
+    // Seed tersimpan, atau seed acak baru yang langsung ditulis (file sementara + atomic move)
+    private static long readBoardSeed(Path file) throws IOException {
+        if (Files.exists(file)) {
+            try {
+                return Long.parseLong(Files.readString(file, StandardCharsets.UTF_8).trim());
+            } catch (NumberFormatException e) {
+                System.err.println("Error: " + file + " is not a valid seed, writing a new one");
+            }
+        }
+        long seed = new Random().nextLong();
+        Path temp = file.resolveSibling("board.seed.tmp");
+        Files.writeString(temp, Long.toString(seed), StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return seed;
+    }
+
+    // --- Thread writer ---
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException e) {
+            System.err.println("Error: Stats cannot be written (" + e.getMessage() + "), retrying");
+        }
+    }
+
+    // Tulis semua record yang mengantre dalam satu write + fsync; compaction jika log terlalu besar
+    synchronized void flush() throws IOException {
+        GameRecord r;
+        while ((r = queue.poll()) != null) unwritten.add(r);
+        if (!unwritten.isEmpty()) {
+            List<byte[]> encoded = new ArrayList<>(unwritten.size());
+            int total = 0;
+            for (GameRecord record : unwritten) {
+                byte[] bytes = record.encode();
+                encoded.add(bytes);
+                total += bytes.length;
+            }
+            ByteBuffer batch = ByteBuffer.allocate(total);
+            for (byte[] bytes : encoded) batch.put(bytes);
+            batch.flip();
+            long before = logSize;
+            try {
+                while (batch.hasRemaining()) logSize += log.write(batch, logSize);
+                log.force(false);
+            } catch (IOException e) {
+                // Batch sebagian dibuang supaya percobaan berikutnya tidak menulis duplikat
+                logSize = before;
+                try {
+                    log.truncate(before);
+                } catch (IOException ignored) {}
+                throw e;
+            }
+            for (GameRecord record : unwritten) durable.apply(record);
+            unwritten.clear();
+        }
+        if (logSize > compactBytes) compact();
+    }
+
+    // Snapshot dari state durable, lalu log dikosongkan (hanya header)
+    private void compact() throws IOException {
+        Path temp = snapshotFile.resolveSibling("stats.snapshot.tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            durable.write(out);
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.truncate(LOG_HEADER_SIZE);
+        log.force(true);
+        logSize = LOG_HEADER_SIZE;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+        }
+        writer.shutdown();
+        try {
+            writer.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flush();
+        } finally {
+            log.close();
+        }
+    }
+
+    // --- Recovery ---
+
+    private Stats readSnapshot() throws IOException {
+        if (!Files.exists(snapshotFile)) return new Stats();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            return Stats.read(in);
+        }
+    }
+
+    private void replayLog() throws IOException {
+        long size = log.size();
+        if (size < LOG_HEADER_SIZE) {
+            ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_SIZE).putInt(LOG_MAGIC).putShort(VERSION);
+            header.flip();
+            log.truncate(0);
+            log.write(header, 0);
+            log.force(true);
+            logSize = LOG_HEADER_SIZE;
+            return;
+        }
+        // Dibaca ke heap (bukan di-map) supaya file bisa di-truncate sesudahnya di semua OS
+        ByteBuffer buf = ByteBuffer.allocate((int) size);
+        while (buf.hasRemaining() && log.read(buf, buf.position()) >= 0) { }
+        buf.flip();
+        if (buf.getInt() != LOG_MAGIC) throw new IOException("Not a stats log: " + logFile);
+        buf.getShort();
+        long good = buf.position();
+        CRC32 crc = new CRC32();
+        while (buf.remaining() >= 8) {
+            int length = buf.getInt();
+            int checksum = buf.getInt();
+            if (length <= 0 || length > buf.remaining()) break;
+            ByteBuffer payload = buf.slice();
+            payload.limit(length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) break;
+            GameRecord record = GameRecord.decode(payload);
+            if (record.seq > durable.lastSeq) {
+                durable.apply(record);
+                recoveredRecords++;
+            }
+            buf.position(buf.position() + length);
+            good = buf.position();
+        }
+        if (good < size) {
+            System.err.println("Error: Stats log " + logFile + " has " + (size - good) + " torn bytes, discarded");
+            log.truncate(good);
+        }
+        logSize = good;
+    }
+
+    // Ringkasan isi store: StatsStore <dir>
+    public static void main(String[] args) throws Exception {
+        Path dir = Path.of(args.length > 0 ? args[0] : "stats");
+        try (StatsStore store = open(dir)) {
+            Stats stats = store.live;
+            System.out.printf("Recovered %d log records (seq %d) in %d us, board seed %d%n",
+                    store.recoveredRecords, stats.lastSeq, store.getRecoveryMicros(), store.boardSeed);
+            System.out.println("Players:");
+            stats.players.values().stream()
+                    .sorted((a, b) -> b.wins != a.wins ? Integer.compare(b.wins, a.wins) : a.name.compareTo(b.name))
+                    .forEach(p -> System.out.printf("  %-16s wins %5d  games %5d  avg %.1f  best %d%n",
+                            p.name, p.wins, p.games, p.averageScore(), p.bestScore));
+            System.out.println("Boards:");
+            for (Map.Entry<Long, BoardStats> e : stats.boards.entrySet()) {
+                BoardStats b = e.getValue();
+                System.out.printf("  %016x games %5d  avg winner score %.1f  avg winner rolls %.1f%n",
+                        e.getKey(), b.games, b.averageWinnerScore(), b.averageWinnerRolls());
+            }
+        }
+    }
+
+    // --- State teragregasi ---
+
+    static class Stats {
+        long lastSeq;
+        final Map<String, PlayerStats> players = new HashMap<>();
+        final Map<Long, BoardStats> boards = new HashMap<>();
+
+        void apply(GameRecord r) {
+            lastSeq = r.seq;
+            for (int seat = 0; seat < r.names.length; seat++) {
+                PlayerStats p = players.computeIfAbsent(r.names[seat], PlayerStats::new);
+                p.addGame(r.scores[seat], seat == r.winnerSeat);
+            }
+            BoardStats b = boards.computeIfAbsent(r.boardId, id -> new BoardStats());
+            b.games++;
+            if (r.winnerSeat >= 0) {
+                if (r.winnerSeat >= b.winsBySeat.length) b.winsBySeat = Arrays.copyOf(b.winsBySeat, r.winnerSeat + 1);
+                b.winsBySeat[r.winnerSeat]++;
+                b.totalWinnerScore += r.scores[r.winnerSeat];
+                b.totalWinnerRolls += r.winnerRolls;
+            }
+        }
+
+        Stats copy() {
+            Stats s = new Stats();
+            s.lastSeq = lastSeq;
+            for (PlayerStats p : players.values()) s.players.put(p.name, p.copy());
+            for (Map.Entry<Long, BoardStats> e : boards.entrySet()) s.boards.put(e.getKey(), e.getValue().copy());
+            return s;
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(lastSeq);
+            out.writeInt(players.size());
+            for (PlayerStats p : players.values()) {
+                out.writeUTF(p.name);
+                out.writeInt(p.wins);
+                out.writeInt(p.games);
+                out.writeLong(p.totalScore);
+                out.writeInt(p.bestScore);
+                int[] history = p.history();
+                out.writeShort(history.length);
+                for (int score : history) out.writeInt(score);
+            }
+            out.writeInt(boards.size());
+            for (Map.Entry<Long, BoardStats> e : boards.entrySet()) {
+                BoardStats b = e.getValue();
+                out.writeLong(e.getKey());
+                out.writeLong(b.games);
+                out.writeLong(b.totalWinnerScore);
+                out.writeLong(b.totalWinnerRolls);
+                out.writeByte(b.winsBySeat.length);
+                for (long wins : b.winsBySeat) out.writeLong(wins);
+            }
+        }
+
+        static Stats read(DataInputStream in) throws IOException {
+            if (in.readInt() != SNAPSHOT_MAGIC) throw new IOException("Not a stats snapshot");
+            in.readShort();
+            Stats s = new Stats();
+            s.lastSeq = in.readLong();
+            int playerCount = in.readInt();
+            for (int i = 0; i < playerCount; i++) {
+                PlayerStats p = new PlayerStats(in.readUTF());
+                p.wins = in.readInt();
+                p.games = in.readInt();
+                p.totalScore = in.readLong();
+                p.bestScore = in.readInt();
+                int historyCount = in.readShort();
+                for (int k = 0; k < historyCount; k++) p.addHistory(in.readInt());
+                s.players.put(p.name, p);
+            }
+            int boardCount = in.readInt();
+            for (int i = 0; i < boardCount; i++) {
+                long id = in.readLong();
+                BoardStats b = new BoardStats();
+                b.games = in.readLong();
+                b.totalWinnerScore = in.readLong();
+                b.totalWinnerRolls = in.readLong();
+                b.winsBySeat = new long[in.readByte()];
+                for (int k = 0; k < b.winsBySeat.length; k++) b.winsBySeat[k] = in.readLong();
+                s.boards.put(id, b);
+            }
+            return s;
+        }
+    }
+
+    static class PlayerStats {
+        final String name;
+        int wins;
+        int games;
+        long totalScore;
+        int bestScore;
+        // Ring HISTORY skor terakhir
+        private final int[] recent = new int[HISTORY];
+        private int recentCount;
+
+        PlayerStats(String name) { this.name = name; }
+
+        void addGame(int score, boolean won) {
+            games++;
+            if (won) wins++;
+            totalScore += score;
+            if (score > bestScore) bestScore = score;
+            addHistory(score);
+        }
+
+        private void addHistory(int score) {
+            recent[recentCount % HISTORY] = score;
+            recentCount++;
+        }
+
+        // Skor terakhir, lama -> baru
+        int[] history() {
+            int n = Math.min(recentCount, HISTORY);
+            int[] out = new int[n];
+            for (int i = 0; i < n; i++) out[i] = recent[(recentCount - n + i) % HISTORY];
+            return out;
+        }
+
+        double averageScore() { return games == 0 ? 0 : (double) totalScore / games; }
+
+        PlayerStats copy() {
+            PlayerStats p = new PlayerStats(name);
+            p.wins = wins;
+            p.games = games;
+            p.totalScore = totalScore;
+            p.bestScore = bestScore;
+            for (int score : history()) p.addHistory(score);
+            return p;
+        }
+    }
+
+    static class BoardStats {
+        long games;
+        long totalWinnerScore;
+        long totalWinnerRolls;
+        long[] winsBySeat = new long[GameManager.PLAYER_COLORS.length];
+
+        double averageWinnerScore() { return finished() == 0 ? 0 : (double) totalWinnerScore / finished(); }
+        double averageWinnerRolls() { return finished() == 0 ? 0 : (double) totalWinnerRolls / finished(); }
+
+        long finished() {
+            long n = 0;
+            for (long wins : winsBySeat) n += wins;
+            return n;
+        }
+
+        BoardStats copy() {
+            BoardStats b = new BoardStats();
+            b.games = games;
+            b.totalWinnerScore = totalWinnerScore;
+            b.totalWinnerRolls = totalWinnerRolls;
+            b.winsBySeat = winsBySeat.clone();
+            return b;
+        }
+    }
+
+    static class GameRecord {
+        final long seq;
+        final long time;
+        final long boardId;
+        final String[] names;
+        final int[] scores;
+        final int winnerSeat;
+        final int winnerRolls;
+
+        GameRecord(long seq, long time, long boardId, String[] names, int[] scores, int winnerSeat, int winnerRolls) {
+            this.seq = seq;
+            this.time = time;
+            this.boardId = boardId;
+            this.names = names;
+            this.scores = scores;
+            this.winnerSeat = winnerSeat;
+            this.winnerRolls = winnerRolls;
+        }
+
+        // [length][crc32][payload]
+        byte[] encode() {
+            int size = 1 + 8 + 8 + 8 + 1 + 4 + 1;
+            byte[][] utf = new byte[names.length][];
+            for (int i = 0; i < names.length; i++) {
+                utf[i] = names[i].getBytes(StandardCharsets.UTF_8);
+                size += 2 + utf[i].length + 4;
+            }
+            ByteBuffer buf = ByteBuffer.allocate(8 + size);
+            buf.putInt(size).putInt(0);
+            buf.put(GAME).putLong(seq).putLong(time).putLong(boardId)
+                    .put((byte) winnerSeat).putInt(winnerRolls).put((byte) names.length);
+            for (int i = 0; i < names.length; i++) {
+                buf.putShort((short) utf[i].length).put(utf[i]).putInt(scores[i]);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buf.array(), 8, size);
+            buf.putInt(4, (int) crc.getValue());
+            return buf.array();
+        }
+
+        static GameRecord decode(ByteBuffer payload) {
+            byte type = payload.get();
+            if (type != GAME) throw new IllegalStateException("Corrupt stats log, unknown record type " + type);
+            long seq = payload.getLong();
+            long time = payload.getLong();
+            long boardId = payload.getLong();
+            int winnerSeat = payload.get();
+            int winnerRolls = payload.getInt();
+            int players = payload.get() & 0xFF;
+            String[] names = new String[players];
+            int[] scores = new int[players];
+            for (int i = 0; i < players; i++) {
+                byte[] utf = new byte[payload.getShort() & 0xFFFF];
+                payload.get(utf);
+                names[i] = new String(utf, StandardCharsets.UTF_8);
+                scores[i] = payload.getInt();
+            }
+            return new GameRecord(seq, time, boardId, names, scores, winnerSeat, winnerRolls);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package src;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// ---------------------------------------------------------
+// TEXT CACHE
+// ---------------------------------------------------------
+// Font dipakai bersama dan GlyphVector disimpan per (font, teks), lengkap
+// dengan lebar untuk centering. Setelah warm-up, menggambar teks tidak
+// membuat String/Font/FontMetrics baru sama sekali.
+class TextCache {
+    static final Font NODE_LABEL = new Font("Arial", Font.BOLD, 12);
+    static final Font NODE_SCORE = new Font("Arial", Font.BOLD, 9);
+    static final Font TITLE = new Font("Segoe UI", Font.BOLD, 18);
+    static final Font HEADING = new Font("Segoe UI", Font.BOLD, 16);
+    static final Font BODY = new Font("Segoe UI", Font.PLAIN, 14);
+    static final Font SMALL = new Font("Segoe UI", Font.PLAIN, 13);
+    static final Font SMALL_BOLD = new Font("Segoe UI", Font.BOLD, 13);
+    static final Font CAPTION = new Font("Segoe UI", Font.PLAIN, 12);
+    static final Font DICE = new Font("Segoe UI", Font.BOLD, 36);
+
+    // Angka 0..MAX_CACHED_NUMBER di-cache di array, sisanya dibuat langsung
+    private static final int MAX_CACHED_NUMBER = 1 << 16;
+
+    private FontRenderContext frc;
+    private final Map<Font, Map<String, TextEntry>> texts = new HashMap<>();
+    private final Map<Font, Map<String, TextEntry[]>> numbers = new HashMap<>();
+
+    public TextEntry get(Graphics2D g2, Font font, String text) {
+        checkContext(g2);
+        Map<String, TextEntry> byText = texts.get(font);
+        if (byText == null) {
+            byText = new HashMap<>();
+            texts.put(font, byText);
+        }
+        TextEntry entry = byText.get(text);
+        if (entry == null) {
+            entry = layout(font, text);
+            byText.put(text, entry);
+        }
+        return entry;
+    }
+
+    // prefix + angka, tanpa membangun String di steady state
+    public TextEntry number(Graphics2D g2, Font font, String prefix, int value) {
+        checkContext(g2);
+        if (value < 0 || value >= MAX_CACHED_NUMBER) return layout(font, prefix + value);
+        Map<String, TextEntry[]> byPrefix = numbers.get(font);
+        if (byPrefix == null) {
+            byPrefix = new HashMap<>();
+            numbers.put(font, byPrefix);
+        }
+        TextEntry[] table = byPrefix.get(prefix);
+        if (table == null || value >= table.length) {
+            int size = Math.min(MAX_CACHED_NUMBER, Math.max(64, Integer.highestOneBit(value) << 1));
+            table = table == null ? new TextEntry[size] : Arrays.copyOf(table, size);
+            byPrefix.put(prefix, table);
+        }
+        TextEntry entry = table[value];
+        if (entry == null) {
+            entry = layout(font, prefix + value);
+            table[value] = entry;
+        }
+        return entry;
+    }
+
+    public void draw(Graphics2D g2, TextEntry entry, float x, float y) {
+        g2.drawGlyphVector(entry.glyphs, x, y);
+    }
+
+    public void drawCentered(Graphics2D g2, TextEntry entry, float centerX, float y) {
+        g2.drawGlyphVector(entry.glyphs, centerX - entry.halfWidth, y);
+    }
+
+    // GlyphVector tergantung FontRenderContext (antialias/fractional metrics)
+    private void checkContext(Graphics2D g2) {
+        FontRenderContext current = g2.getFontRenderContext();
+        if (!current.equals(frc)) {
+            frc = current;
+            texts.clear();
+            numbers.clear();
+        }
+    }
+
+    private TextEntry layout(Font font, String text) {
+        GlyphVector glyphs = font.createGlyphVector(frc, text);
+        float width = (float) glyphs.getLogicalBounds().getWidth();
+        return new TextEntry(glyphs, width);
+    }
+}
+
+class TextEntry {
+    final GlyphVector glyphs;
+    final float width;
+    final float halfWidth;
+
+    TextEntry(GlyphVector glyphs, float width) {
+        this.glyphs = glyphs;
+        this.width = width;
+        this.halfWidth = width / 2;
+    }
+}
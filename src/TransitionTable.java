@@ -0,0 +1,247 @@
+package src;
+
+import java.util.Arrays;
+import java.util.List;
+
+// ---------------------------------------------------------
+// TRANSITION TABLE
+// ---------------------------------------------------------
+// Graph + daftar ladder dikompilasi menjadi array langkah maju per node.
+// rollDice cukup satu array load per langkah, tanpa scan ladder.
+class TransitionTable {
+    static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    final int nodeCount;
+    final int goal;
+    final ShortcutMode mode;
+    // Langkah maju biasa (mengikuti edge Graph, berhenti di goal)
+    final int[] lockedStep;
+    // Langkah maju ketika shortcut aktif (tergantung mode, lihat ShortcutMode)
+    final int[] unlockedStep;
+    // Ujung ladder yang mulai di node ini, -1 jika tidak ada
+    final int[] jump;
+    // Jarak terpendek ke goal (edge Graph + ladder), UNREACHABLE jika tidak ada jalur
+    final int[] distance;
+    // Node berikutnya di jalur terpendek ke goal
+    final int[] nextHop;
+
+    public TransitionTable(Graph graph, List<Ladder> ladders, int goal) {
+        this(graph, ladders, goal, ShortcutMode.LADDER);
+    }
+
+    public TransitionTable(Graph graph, List<Ladder> ladders, int goal, ShortcutMode mode) {
+        this.nodeCount = graph != null ? graph.size : goal + 1;
+        this.goal = goal;
+        this.mode = mode;
+        this.lockedStep = new int[nodeCount];
+        this.unlockedStep = new int[nodeCount];
+        this.jump = new int[nodeCount];
+
+        for (int i = 0; i < nodeCount; i++) {
+            int next;
+            if (graph == null) next = i + 1;
+            else next = graph.degree(i) > 0 ? graph.neighbour(i, 0) : i;
+            lockedStep[i] = Math.min(next, goal);
+            jump[i] = -1;
+        }
+        // Ladder pertama yang cocok menang, sama seperti scan lama
+        for (Ladder l : ladders) {
+            if (isValid(l, nodeCount) && jump[l.startIdx] == -1) {
+                jump[l.startIdx] = Math.min(l.endIdx, goal);
+            }
+        }
+
+        EdgeList edges = new EdgeList(graph, ladders, nodeCount, goal);
+        this.distance = edges.distancesTo(goal);
+        this.nextHop = edges.nextHops(distance, lockedStep);
+
+        for (int i = 0; i < nodeCount; i++) {
+            if (mode == ShortcutMode.SHORTEST_PATH) unlockedStep[i] = nextHop[i];
+            else unlockedStep[i] = jump[i] != -1 ? jump[i] : lockedStep[i];
+        }
+    }
+
+    // Ladder dengan ujung di luar papan dilewati (tidak pernah masuk jump/edge)
+    static boolean isValid(Ladder l, int nodeCount) {
+        return l.startIdx >= 0 && l.startIdx < nodeCount && l.endIdx >= 0 && l.endIdx < nodeCount;
+    }
+
+    public int[] steps(boolean shortcutActive) {
+        return shortcutActive ? unlockedStep : lockedStep;
+    }
+
+    public int distanceToGoal(int node) {
+        return distance[node];
+    }
+}
+
+// Aturan langkah saat shortcut terbuka (isShortestPathActive)
+enum ShortcutMode {
+    // Aturan lama: hanya ladder yang mulai tepat di node sekarang
+    LADDER,
+    // Ikuti jalur terpendek ke goal lewat edge Graph (berbobot) dan ladder (bobot 1)
+    SHORTEST_PATH;
+
+    // -Dgame.shortcut=shortest untuk mode jalur terpendek, default LADDER
+    static ShortcutMode fromProperty() {
+        return parse(System.getProperty("game.shortcut", "ladder"));
+    }
+
+    static ShortcutMode parse(String value) {
+        switch (value.toLowerCase()) {
+            case "ladder":
+                return LADDER;
+            case "shortest":
+            case "shortest_path":
+                return SHORTEST_PATH;
+            default:
+                System.err.println("Error: Unknown shortcut mode " + value + ", using ladder");
+                return LADDER;
+        }
+    }
+}
+
+// Semua edge maju (Graph + ladder) dalam CSR, beserta edge terbalik untuk
+// Dijkstra dari goal. Bobot minimal 1 (satu langkah dadu), jadi tidak ada
+// siklus berbobot nol. Dibangun sekali per TransitionTable.
+class EdgeList {
+    private static final int LADDER_WEIGHT = 1;
+
+    private final int nodeCount;
+    private final int[] outStart;
+    private final int[] outTarget;
+    private final int[] outWeight;
+    private final int[] inStart;
+    private final int[] inSource;
+    private final int[] inWeight;
+
+    EdgeList(Graph graph, List<Ladder> ladders, int nodeCount, int goal) {
+        this.nodeCount = nodeCount;
+        outStart = new int[nodeCount + 1];
+        for (int i = 0; i < nodeCount; i++) outStart[i + 1] = graphDegree(graph, i, goal);
+        for (Ladder l : ladders) if (TransitionTable.isValid(l, nodeCount)) outStart[l.startIdx + 1]++;
+        for (int i = 0; i < nodeCount; i++) outStart[i + 1] += outStart[i];
+
+        int edgeCount = outStart[nodeCount];
+        outTarget = new int[edgeCount];
+        outWeight = new int[edgeCount];
+        int[] fill = Arrays.copyOf(outStart, nodeCount);
+        // Ladder dicatat lebih dulu supaya menang saat jarak seri (sama seperti mode LADDER)
+        for (Ladder l : ladders) {
+            if (!TransitionTable.isValid(l, nodeCount)) continue;
+            int e = fill[l.startIdx]++;
+            outTarget[e] = Math.min(l.endIdx, goal);
+            outWeight[e] = LADDER_WEIGHT;
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            if (i == goal) continue;
+            if (graph == null) {
+                int e = fill[i]++;
+                outTarget[e] = Math.min(i + 1, goal);
+                outWeight[e] = 1;
+                continue;
+            }
+            int[] targets = graph.neighbours(i);
+            int[] weights = graph.neighbourWeights(i);
+            for (int k = 0; k < graph.degree(i); k++) {
+                int e = fill[i]++;
+                outTarget[e] = Math.min(targets[k], goal);
+                outWeight[e] = Math.max(1, weights[k]);
+            }
+        }
+
+        inStart = new int[nodeCount + 1];
+        for (int e = 0; e < edgeCount; e++) inStart[outTarget[e] + 1]++;
+        for (int i = 0; i < nodeCount; i++) inStart[i + 1] += inStart[i];
+        inSource = new int[edgeCount];
+        inWeight = new int[edgeCount];
+        fill = Arrays.copyOf(inStart, nodeCount);
+        for (int from = 0; from < nodeCount; from++) {
+            for (int e = outStart[from]; e < outStart[from + 1]; e++) {
+                int slot = fill[outTarget[e]]++;
+                inSource[slot] = from;
+                inWeight[slot] = outWeight[e];
+            }
+        }
+    }
+
+    private static int graphDegree(Graph graph, int node, int goal) {
+        if (node == goal) return 0;
+        return graph == null ? 1 : graph.degree(node);
+    }
+
+    // Dijkstra di edge terbalik: jarak setiap node ke target. Heap berisi
+    // (jarak << 32 | node) dalam long[], entri basi dilewati saat di-pop.
+    int[] distancesTo(int target) {
+        int[] dist = new int[nodeCount];
+        Arrays.fill(dist, TransitionTable.UNREACHABLE);
+        dist[target] = 0;
+        long[] heap = new long[Math.max(16, nodeCount)];
+        int size = 0;
+        heap[size++] = target;
+        while (size > 0) {
+            long top = heap[0];
+            heap[0] = heap[--size];
+            siftDown(heap, size);
+            int node = (int) top;
+            int d = (int) (top >>> 32);
+            if (d != dist[node]) continue;
+            for (int e = inStart[node]; e < inStart[node + 1]; e++) {
+                int from = inSource[e];
+                long candidate = (long) d + inWeight[e];
+                if (candidate >= dist[from]) continue;
+                dist[from] = (int) candidate;
+                if (size == heap.length) heap = Arrays.copyOf(heap, size * 2);
+                heap[size] = candidate << 32 | from;
+                siftUp(heap, size++);
+            }
+        }
+        return dist;
+    }
+
+    // Edge keluar dengan bobot + jarak terkecil; node tanpa jalur ke target memakai fallback
+    int[] nextHops(int[] dist, int[] fallback) {
+        int[] next = new int[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            next[i] = fallback[i];
+            if (dist[i] == 0 || dist[i] == TransitionTable.UNREACHABLE) continue;
+            long best = Long.MAX_VALUE;
+            for (int e = outStart[i]; e < outStart[i + 1]; e++) {
+                int to = outTarget[e];
+                if (dist[to] == TransitionTable.UNREACHABLE) continue;
+                long d = (long) outWeight[e] + dist[to];
+                if (d < best) {
+                    best = d;
+                    next[i] = to;
+                }
+            }
+        }
+        return next;
+    }
+
+    private static void siftUp(long[] heap, int i) {
+        long value = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= value) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        if (size == 0) return;
+        long value = heap[0];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (heap[child] >= value) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = value;
+    }
+}
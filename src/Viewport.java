@@ -0,0 +1,177 @@
+package src;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.util.Arrays;
+
+// ---------------------------------------------------------
+// VIEWPORT
+// ---------------------------------------------------------
+// Pemetaan koordinat dunia (papan, 1 unit = 1 pixel pada zoom 1) ke area papan
+// di layar. Zoom di sekitar kursor dan pan dijaga supaya papan tidak keluar
+// layar; zoom minimum = seluruh papan terlihat. version naik setiap view berubah
+// sehingga layer statis tahu kapan harus dirender ulang.
+class Viewport {
+    private static final double MAX_SCALE = 2.0;
+
+    final Rectangle screen;
+    private final int worldSize;
+    private final double minScale;
+    private double scale;
+    private double originX;
+    private double originY;
+    private int version;
+
+    public Viewport(Rectangle screen, int worldSize) {
+        this.screen = new Rectangle(screen);
+        this.worldSize = worldSize;
+        this.minScale = Math.min((double) screen.width / worldSize, (double) screen.height / worldSize);
+        fit();
+    }
+
+    public double getScale() { return scale; }
+    public int getVersion() { return version; }
+    public boolean isFit() { return scale == minScale; }
+
+    public void fit() {
+        scale = minScale;
+        clamp();
+    }
+
+    public void setScale(double newScale) {
+        zoomAt(screen.x + screen.width / 2, screen.y + screen.height / 2, newScale / scale);
+    }
+
+    // Zoom dengan faktor, titik dunia di bawah (sx, sy) tetap di tempat
+    public void zoomAt(int sx, int sy, double factor) {
+        double wx = toWorldX(sx);
+        double wy = toWorldY(sy);
+        scale = Math.max(minScale, Math.min(Math.max(minScale, MAX_SCALE), scale * factor));
+        originX = wx - (sx - screen.x) / scale;
+        originY = wy - (sy - screen.y) / scale;
+        clamp();
+    }
+
+    public void panBy(int dx, int dy) {
+        originX -= dx / scale;
+        originY -= dy / scale;
+        clamp();
+    }
+
+    public void centerOn(int wx, int wy) {
+        originX = wx - screen.width / 2.0 / scale;
+        originY = wy - screen.height / 2.0 / scale;
+        clamp();
+    }
+
+    private void clamp() {
+        double visibleW = screen.width / scale;
+        double visibleH = screen.height / scale;
+        originX = visibleW >= worldSize ? (worldSize - visibleW) / 2 : Math.max(0, Math.min(worldSize - visibleW, originX));
+        originY = visibleH >= worldSize ? (worldSize - visibleH) / 2 : Math.max(0, Math.min(worldSize - visibleH, originY));
+        version++;
+    }
+
+    public double toScreenX(double wx) { return screen.x + (wx - originX) * scale; }
+    public double toScreenY(double wy) { return screen.y + (wy - originY) * scale; }
+    public double toWorldX(double sx) { return originX + (sx - screen.x) / scale; }
+    public double toWorldY(double sy) { return originY + (sy - screen.y) / scale; }
+
+    // Region dunia yang terlihat (dibulatkan keluar)
+    public void visibleWorld(Rectangle out) {
+        int x0 = (int) Math.floor(originX);
+        int y0 = (int) Math.floor(originY);
+        out.setBounds(x0, y0, (int) Math.ceil(originX + screen.width / scale) - x0,
+                (int) Math.ceil(originY + screen.height / scale) - y0);
+    }
+
+    public boolean isVisible(int wx, int wy, int margin) {
+        return wx + margin >= originX && wy + margin >= originY
+                && wx - margin <= originX + screen.width / scale && wy - margin <= originY + screen.height / scale;
+    }
+
+    public void worldToScreen(Rectangle world, Rectangle out) {
+        int x0 = (int) Math.floor(toScreenX(world.x));
+        int y0 = (int) Math.floor(toScreenY(world.y));
+        int x1 = (int) Math.ceil(toScreenX(world.x + world.width));
+        int y1 = (int) Math.ceil(toScreenY(world.y + world.height));
+        out.setBounds(x0, y0, x1 - x0, y1 - y0);
+    }
+
+    // Setelah ini semua gambar di g2 memakai koordinat dunia
+    public void applyTo(Graphics2D g2) {
+        g2.translate(screen.x, screen.y);
+        g2.scale(scale, scale);
+        g2.translate(-originX, -originY);
+    }
+}
+
+// Uniform grid untuk segmen (ladder): setiap segmen dicatat di semua bucket yang
+// dilewatinya, jadi query hanya menyentuh bucket di sekitar region terlihat.
+class SpatialIndex {
+    private final int bucketSize;
+    private final int columns;
+    private final int rows;
+    private final int[][] buckets;
+    private final int[] bucketCount;
+    private int[] seen = new int[16];
+    private int stamp;
+
+    public SpatialIndex(int worldSize, int bucketSize) {
+        this.bucketSize = bucketSize;
+        this.columns = Math.max(1, (worldSize + bucketSize - 1) / bucketSize);
+        this.rows = columns;
+        this.buckets = new int[columns * rows][];
+        this.bucketCount = new int[columns * rows];
+    }
+
+    public void addSegment(int id, int x1, int y1, int x2, int y2) {
+        if (id >= seen.length) seen = Arrays.copyOf(seen, Math.max(seen.length * 2, id + 1));
+        // Sampel tiap seperempat bucket; bucket sudut yang terlewat ditangani
+        // query yang diperluas satu bucket
+        double length = Math.hypot(x2 - x1, y2 - y1);
+        int samples = Math.max(1, (int) Math.ceil(length / (bucketSize / 4.0)));
+        for (int s = 0; s <= samples; s++) {
+            double t = (double) s / samples;
+            int bucket = bucketAt(x1 + (x2 - x1) * t, y1 + (y2 - y1) * t);
+            if (bucket < 0 || bucketLast(bucket) == id) continue;
+            if (buckets[bucket] == null) buckets[bucket] = new int[4];
+            else if (bucketCount[bucket] == buckets[bucket].length) {
+                buckets[bucket] = Arrays.copyOf(buckets[bucket], bucketCount[bucket] * 2);
+            }
+            buckets[bucket][bucketCount[bucket]++] = id;
+        }
+    }
+
+    private int bucketLast(int bucket) {
+        return bucketCount[bucket] == 0 ? -1 : buckets[bucket][bucketCount[bucket] - 1];
+    }
+
+    private int bucketAt(double x, double y) {
+        int c = (int) Math.floor(x / bucketSize);
+        int r = (int) Math.floor(y / bucketSize);
+        if (c < 0 || r < 0 || c >= columns || r >= rows) return -1;
+        return r * columns + c;
+    }
+
+    // Id semua segmen yang mungkin memotong region (tanpa duplikat)
+    public void query(Rectangle region, IntList out) {
+        out.size = 0;
+        stamp++;
+        int c0 = Math.max(0, Math.floorDiv(region.x, bucketSize) - 1);
+        int r0 = Math.max(0, Math.floorDiv(region.y, bucketSize) - 1);
+        int c1 = Math.min(columns - 1, Math.floorDiv(region.x + region.width, bucketSize) + 1);
+        int r1 = Math.min(rows - 1, Math.floorDiv(region.y + region.height, bucketSize) + 1);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int b = r * columns + c;
+                for (int i = 0; i < bucketCount[b]; i++) {
+                    int id = buckets[b][i];
+                    if (seen[id] == stamp) continue;
+                    seen[id] = stamp;
+                    out.add(id);
+                }
+            }
+        }
+    }
+}